@@ -0,0 +1,48 @@
+package com.partymenu.webapp.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.partymenu.webapp.PartyMenuWebsiteApplication;
+
+/**
+ * One application context per trial, running against the seeded in-memory database.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApplicationState {
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // DevTools restart is only configurable through a system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Passed as an argument so it outranks the default in application-benchmark.properties
+        context = new SpringApplicationBuilder(PartyMenuWebsiteApplication.class)
+                .profiles("benchmark")
+                .run("--partymenu.benchmark.catalog-size=" + catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int getMenuTypeCount() {
+        int categories = (catalogSize + CatalogSeeder.ITEMS_PER_CATEGORY - 1) / CatalogSeeder.ITEMS_PER_CATEGORY;
+        return Math.max(1, (categories + CatalogSeeder.CATEGORIES_PER_MENU_TYPE - 1) / CatalogSeeder.CATEGORIES_PER_MENU_TYPE);
+    }
+}
@@ -0,0 +1,64 @@
+package com.partymenu.webapp.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.partymenu.webapp.entity.CartItem;
+import com.partymenu.webapp.service.CartService;
+
+/**
+ * Each iteration fills a fresh session cart from a small set of items, so both the
+ * new-line and the quantity-increment paths are exercised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    private static final int DISTINCT_ITEMS = 20;
+
+    private CartService cartService;
+    private JdbcTemplate jdbcTemplate;
+    private String sessionId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkApplicationState application) {
+        cartService = application.getBean(CartService.class);
+        jdbcTemplate = application.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void newSession() {
+        sessionId = UUID.randomUUID().toString();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearCarts() {
+        jdbcTemplate.update("DELETE FROM cart_items");
+    }
+
+    @Benchmark
+    public CartItem addToCart() {
+        // Items divisible by 20 are seeded unavailable, so stay on 1..19
+        long menuItemId = ThreadLocalRandom.current().nextInt(DISTINCT_ITEMS - 1) + 1;
+        return cartService.addToCart(sessionId, menuItemId, 1);
+    }
+}
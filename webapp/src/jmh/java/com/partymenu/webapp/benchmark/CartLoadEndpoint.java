@@ -0,0 +1,32 @@
+package com.partymenu.webapp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.partymenu.webapp.service.CartService;
+
+/**
+ * A typical cart request for {@link ExecutionModeLoadTest}: add an item, then read the
+ * cart back, each in its own transaction. Lives under {@code /menu/**} so it needs no login.
+ */
+@RestController
+@Profile("benchmark")
+public class CartLoadEndpoint {
+
+    private final CartService cartService;
+
+    public CartLoadEndpoint(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping("/menu/load-test/cart")
+    public int addAndRead(@RequestParam String session) {
+        // Items divisible by 20 are seeded unavailable, so stay on 1..19
+        cartService.addToCart(session, (long) ThreadLocalRandom.current().nextInt(1, 20), 1);
+        return cartService.getCart(session).getTotalItems();
+    }
+}
@@ -0,0 +1,88 @@
+package com.partymenu.webapp.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds a deterministic catalog before the application reports ready, so the
+ * snapshot, search index and suggestion trie are built from it on startup.
+ * Ten categories per menu type and up to one hundred items per category.
+ */
+@Component
+@Profile("benchmark")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogSeeder implements CommandLineRunner {
+
+    static final int CATEGORIES_PER_MENU_TYPE = 10;
+    static final int ITEMS_PER_CATEGORY = 100;
+
+    private static final String[] ADJECTIVES = {
+        "Spicy", "Crispy", "Smoked", "Grilled", "Creamy", "Tangy", "Roasted", "Fresh",
+        "Golden", "Sweet", "Herbed", "Garlic", "Butter", "Tandoori", "Masala", "Classic"
+    };
+    private static final String[] NOUNS = {
+        "Chicken", "Paneer", "Noodles", "Biryani", "Burger", "Salad", "Soup", "Kebab",
+        "Pasta", "Pizza", "Tacos", "Curry", "Rice", "Wrap", "Dumplings", "Brownie"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int catalogSize;
+
+    public CatalogSeeder(JdbcTemplate jdbcTemplate,
+                         @Value("${partymenu.benchmark.catalog-size}") int catalogSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogSize = catalogSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int categoryCount = Math.max(1, (catalogSize + ITEMS_PER_CATEGORY - 1) / ITEMS_PER_CATEGORY);
+        int menuTypeCount = Math.max(1, (categoryCount + CATEGORIES_PER_MENU_TYPE - 1) / CATEGORIES_PER_MENU_TYPE);
+
+        List<Object[]> menuTypes = new ArrayList<>();
+        for (long id = 1; id <= menuTypeCount; id++) {
+            menuTypes.add(new Object[] {id, "Menu " + id, "Benchmark menu " + id, true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_types (id, name, description, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", menuTypes);
+
+        List<Object[]> categories = new ArrayList<>();
+        for (long id = 1; id <= categoryCount; id++) {
+            long menuTypeId = (id - 1) / CATEGORIES_PER_MENU_TYPE + 1;
+            categories.add(new Object[] {id, "Category " + id, "Benchmark category " + id, menuTypeId,
+                    (int) ((id - 1) % CATEGORIES_PER_MENU_TYPE) + 1, true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, name, description, menu_type_id, display_order, "
+                + "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", categories);
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= catalogSize; id++) {
+            String adjective = ADJECTIVES[(int) (id % ADJECTIVES.length)];
+            String noun = NOUNS[(int) ((id / ADJECTIVES.length) % NOUNS.length)];
+            long categoryId = (id - 1) / ITEMS_PER_CATEGORY + 1;
+            items.add(new Object[] {id, adjective + " " + noun + " " + id,
+                    "A " + adjective.toLowerCase() + " take on " + noun.toLowerCase() + " for parties",
+                    BigDecimal.valueOf(99 + (id * 37) % 900, 2).add(BigDecimal.TEN), categoryId,
+                    id % 10 == 0, id % 20 != 0, 10 + (int) (id % 50), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, description, price, category_id, is_popular, "
+                + "is_available, preparation_time, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", items);
+
+        // Explicit ids leave the identity columns at 1; move them past the seeded rows
+        jdbcTemplate.execute("ALTER TABLE menu_types ALTER COLUMN id RESTART WITH " + (menuTypeCount + 1));
+        jdbcTemplate.execute("ALTER TABLE categories ALTER COLUMN id RESTART WITH " + (categoryCount + 1));
+        jdbcTemplate.execute("ALTER TABLE menu_items ALTER COLUMN id RESTART WITH " + (catalogSize + 1));
+    }
+}
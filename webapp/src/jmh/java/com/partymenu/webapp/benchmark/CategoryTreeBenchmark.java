@@ -0,0 +1,43 @@
+package com.partymenu.webapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.partymenu.webapp.catalog.CategoryView;
+import com.partymenu.webapp.service.CategoryService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryTreeBenchmark {
+
+    private CategoryService categoryService;
+    private int menuTypeCount;
+
+    @Setup
+    public void setUp(BenchmarkApplicationState application) {
+        categoryService = application.getBean(CategoryService.class);
+        menuTypeCount = application.getMenuTypeCount();
+    }
+
+    @Benchmark
+    public List<CategoryView> getCategoriesWithMenuItemsByMenuType() {
+        long menuTypeId = ThreadLocalRandom.current().nextInt(menuTypeCount) + 1;
+        return categoryService.getCategoriesWithMenuItemsByMenuType(menuTypeId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.partymenu.webapp.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes every borrowed connection cost {@code partymenu.benchmark.connection-latency-ms},
+ * spent while holding it, so the in-memory database behaves like a remote one whose
+ * round trips keep request threads blocked. Off (0) unless a load test sets it.
+ */
+@Component
+@Profile("benchmark")
+public class ConnectionLatency implements BeanPostProcessor {
+
+    private final long latencyMs;
+
+    public ConnectionLatency(@Value("${partymenu.benchmark.connection-latency-ms:0}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (latencyMs <= 0 || !(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return connection;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.partymenu.webapp.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.partymenu.webapp.PartyMenuWebsiteApplication;
+
+/**
+ * Closed-loop load test comparing platform-thread and virtual-thread request handling.
+ * <p>
+ * For each mode the benchmark application is started with the same small Tomcat thread
+ * pool, connection pool and per-connection latency; then {@code clients} concurrent
+ * clients call {@link CartLoadEndpoint} back to back for {@code seconds}, after a short
+ * warm-up. Throughput, latency percentiles and failed requests are printed per mode. The
+ * virtual mode is skipped below Java 21.
+ * <p>
+ * Arguments, all optional, as {@code name=value}: clients (200), seconds (20),
+ * latencyMs (20), tomcatThreads (50), poolSize (10), catalogSize (1000).
+ */
+public final class ExecutionModeLoadTest {
+
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = new Settings(args);
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %10s %9s %9s %9s %8s", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        report.add(run(false, settings));
+        if (Runtime.version().feature() >= 21) {
+            report.add(run(true, settings));
+        } else {
+            report.add(String.format("%-9s skipped: needs Java 21, running on %s", "virtual", Runtime.version()));
+        }
+        System.out.println();
+        System.out.printf("clients=%d seconds=%d latencyMs=%d tomcatThreads=%d poolSize=%d%n",
+                settings.clients, settings.seconds, settings.latencyMs, settings.tomcatThreads, settings.poolSize);
+        report.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtual, Settings settings) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PartyMenuWebsiteApplication.class)
+                .profiles("benchmark")
+                .run("--partymenu.benchmark.catalog-size=" + settings.catalogSize,
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.threads.max=" + settings.tomcatThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=" + settings.poolSize,
+                        "--partymenu.benchmark.connection-latency-ms=" + settings.latencyMs,
+                        "--partymenu.cart.expiry.enabled=false");
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/menu/load-test/cart?session=";
+            drive(baseUrl, settings.clients, WARM_UP);
+            Result result = drive(baseUrl, settings.clients, Duration.ofSeconds(settings.seconds));
+            return String.format("%-9s %10.1f %9.1f %9.1f %9.1f %8d", virtual ? "virtual" : "platform",
+                    result.latenciesNanos.length / (double) settings.seconds,
+                    result.percentileMs(0.50), result.percentileMs(0.99), result.percentileMs(1.0), result.errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result drive(String baseUrl, int clients, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "load-" + client + "-" + System.nanoTime()))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            futures.add(pool.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long errors = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors++;
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                long[] result = Arrays.copyOf(latencies, count + 1);
+                // Last slot carries the error count
+                result[count] = errors;
+                return result;
+            }));
+        }
+
+        long errors = 0;
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            errors += latencies[latencies.length - 1];
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length - 1);
+            System.arraycopy(latencies, 0, all, offset, latencies.length - 1);
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        Arrays.sort(all);
+        return new Result(all, errors);
+    }
+
+    private static final class Result {
+
+        final long[] latenciesNanos;
+        final long errors;
+
+        Result(long[] latenciesNanos, long errors) {
+            this.latenciesNanos = latenciesNanos;
+            this.errors = errors;
+        }
+
+        double percentileMs(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private static final class Settings {
+
+        int clients = 200;
+        int seconds = 20;
+        int latencyMs = 20;
+        int tomcatThreads = 50;
+        int poolSize = 10;
+        int catalogSize = 1000;
+
+        Settings(String[] args) {
+            for (String arg : args) {
+                String[] pair = arg.split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected name=value, got " + arg);
+                }
+                int value = Integer.parseInt(pair[1]);
+                switch (pair[0]) {
+                    case "clients" -> clients = value;
+                    case "seconds" -> seconds = value;
+                    case "latencyMs" -> latencyMs = value;
+                    case "tomcatThreads" -> tomcatThreads = value;
+                    case "poolSize" -> poolSize = value;
+                    case "catalogSize" -> catalogSize = value;
+                    default -> throw new IllegalArgumentException("Unknown setting " + pair[0]);
+                }
+            }
+        }
+    }
+}
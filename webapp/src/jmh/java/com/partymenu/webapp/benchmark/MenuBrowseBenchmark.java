@@ -0,0 +1,55 @@
+package com.partymenu.webapp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.partymenu.webapp.catalog.FacetQuery;
+import com.partymenu.webapp.catalog.FacetResult;
+import com.partymenu.webapp.catalog.PrepTimeBucket;
+import com.partymenu.webapp.service.MenuBrowseService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuBrowseBenchmark {
+
+    private MenuBrowseService menuBrowseService;
+    private int menuTypeCount;
+
+    @Setup
+    public void setUp(BenchmarkApplicationState application) {
+        menuBrowseService = application.getBean(MenuBrowseService.class);
+        menuTypeCount = application.getMenuTypeCount();
+    }
+
+    @Benchmark
+    public FacetResult browseUnfiltered() {
+        return menuBrowseService.browse(new FacetQuery(null, null, null, null, null, null,
+                FacetQuery.Sort.PRICE_ASC, 0, FacetQuery.DEFAULT_LIMIT));
+    }
+
+    @Benchmark
+    public FacetResult browseCombinedFilters() {
+        long menuTypeId = ThreadLocalRandom.current().nextInt(menuTypeCount) + 1;
+        return menuBrowseService.browse(new FacetQuery(Set.of(menuTypeId), null,
+                EnumSet.of(PrepTimeBucket.STANDARD, PrepTimeBucket.SLOW), true,
+                new BigDecimal("12.00"), new BigDecimal("18.00"), FacetQuery.Sort.NAME, 0, FacetQuery.DEFAULT_LIMIT));
+    }
+}
@@ -0,0 +1,56 @@
+package com.partymenu.webapp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import jakarta.servlet.Filter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full request through the security filters, the controller and the Thymeleaf
+ * render of menu/menu-detail, without the network hop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuDetailRenderBenchmark {
+
+    private MockMvc mockMvc;
+    private int menuTypeCount;
+
+    @Setup
+    public void setUp(BenchmarkApplicationState application) {
+        WebApplicationContext context = (WebApplicationContext) application.context;
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+        menuTypeCount = application.getMenuTypeCount();
+    }
+
+    @Benchmark
+    public String renderMenuDetail() throws Exception {
+        long menuTypeId = ThreadLocalRandom.current().nextInt(menuTypeCount) + 1;
+        return mockMvc.perform(get("/menu/{menuTypeId}", menuTypeId))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
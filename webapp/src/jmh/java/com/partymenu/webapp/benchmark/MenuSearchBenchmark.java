@@ -0,0 +1,42 @@
+package com.partymenu.webapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.partymenu.webapp.service.MenuItemService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuSearchBenchmark {
+
+    @Param({"chicken", "spicy paneer", "cri"})
+    public String keyword;
+
+    private MenuItemService menuItemService;
+
+    @Setup
+    public void setUp(BenchmarkApplicationState application) {
+        menuItemService = application.getBean(MenuItemService.class);
+    }
+
+    @Benchmark
+    public List<Long> searchMenuItems() {
+        return menuItemService.searchMenuItems(keyword);
+    }
+}
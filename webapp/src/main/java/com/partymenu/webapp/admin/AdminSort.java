@@ -0,0 +1,23 @@
+package com.partymenu.webapp.admin;
+
+/**
+ * Orderings offered by the admin listings. Every ordering ends with the id, so each
+ * row has a unique position that a {@link KeysetCursor} can resume from.
+ */
+public enum AdminSort {
+    NAME,
+    PRICE,
+    NEWEST;
+
+    // Lenient parse for request parameters; unknown values fall back to NAME
+    public static AdminSort parse(String value) {
+        if (value != null) {
+            for (AdminSort sort : values()) {
+                if (sort.name().equalsIgnoreCase(value)) {
+                    return sort;
+                }
+            }
+        }
+        return NAME;
+    }
+}
@@ -0,0 +1,68 @@
+package com.partymenu.webapp.admin;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin listing row for a category, with its menu type name and item count.
+ */
+public final class CategoryRow {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Long menuTypeId;
+    private final String menuTypeName;
+    private final Integer displayOrder;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final long itemCount;
+
+    public CategoryRow(Long id, String name, String description, Long menuTypeId, String menuTypeName,
+                       Integer displayOrder, Boolean isActive, LocalDateTime createdAt, Long itemCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.menuTypeId = menuTypeId;
+        this.menuTypeName = menuTypeName;
+        this.displayOrder = displayOrder;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.itemCount = itemCount != null ? itemCount : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getMenuTypeId() {
+        return menuTypeId;
+    }
+
+    public String getMenuTypeName() {
+        return menuTypeName;
+    }
+
+    public Integer getDisplayOrder() {
+        return displayOrder;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+}
@@ -0,0 +1,41 @@
+package com.partymenu.webapp.admin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: rows inserted, rows rejected, and the first few reasons.
+ */
+public final class ImportResult {
+
+    private static final int MAX_ERRORS = 20;
+
+    private int imported;
+    private int skipped;
+    private final List<String> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    // Position is where the rejected record came from, e.g. "Line 12" or "Record 3"
+    public void reject(String position, String reason) {
+        skipped++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(position + ": " + reason);
+        }
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
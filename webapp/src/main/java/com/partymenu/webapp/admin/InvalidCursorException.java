@@ -0,0 +1,16 @@
+package com.partymenu.webapp.admin;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A page cursor that is not a token produced by {@link KeysetCursor#encode()}, or one
+ * produced for a different listing order; answered with 400 Bad Request.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid page cursor")
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String token, Throwable cause) {
+        super("Invalid page cursor '" + token + "'", cause);
+    }
+}
@@ -0,0 +1,69 @@
+package com.partymenu.webapp.admin;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: the sort it was listed in, the value of the sort
+ * column and the row id. Encoded as an opaque URL-safe token so sort values containing
+ * any character round-trip through a query string.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final AdminSort sort;
+    private final String sortValue;
+    private final long id;
+
+    public KeysetCursor(AdminSort sort, String sortValue, long id) {
+        if (sort == null) {
+            throw new IllegalArgumentException("sort is required");
+        }
+        this.sort = sort;
+        this.sortValue = sortValue != null ? sortValue : "";
+        this.id = id;
+    }
+
+    // Returns null for a missing token, which starts at the first page; rejects a malformed one
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token, e);
+        }
+        // The sort name never contains the separator; the sort value may
+        int first = decoded.indexOf(SEPARATOR);
+        int last = decoded.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new InvalidCursorException(token, null);
+        }
+        try {
+            return new KeysetCursor(AdminSort.valueOf(decoded.substring(0, first)),
+                    decoded.substring(first + 1, last), Long.parseLong(decoded.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public AdminSort getSort() {
+        return sort;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
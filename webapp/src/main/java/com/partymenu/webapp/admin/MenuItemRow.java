@@ -0,0 +1,82 @@
+package com.partymenu.webapp.admin;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.partymenu.webapp.pricing.Money;
+
+/**
+ * Admin listing row for a menu item, with its category and menu type names joined in.
+ */
+public final class MenuItemRow {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final Long categoryId;
+    private final String categoryName;
+    private final String menuTypeName;
+    private final Boolean isAvailable;
+    private final Boolean isPopular;
+    private final LocalDateTime createdAt;
+
+    public MenuItemRow(Long id, String name, String description, BigDecimal price, Long categoryId,
+                       String categoryName, String menuTypeName, Boolean isAvailable, Boolean isPopular,
+                       LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.menuTypeName = menuTypeName;
+        this.isAvailable = isAvailable;
+        this.isPopular = isPopular;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getFormattedPrice() {
+        return Money.format(Money.toCents(price));
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getMenuTypeName() {
+        return menuTypeName;
+    }
+
+    public Boolean getIsAvailable() {
+        return isAvailable;
+    }
+
+    public Boolean getIsPopular() {
+        return isPopular;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
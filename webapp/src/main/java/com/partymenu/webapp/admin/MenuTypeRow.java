@@ -0,0 +1,50 @@
+package com.partymenu.webapp.admin;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin listing row for a menu type, with its category count.
+ */
+public final class MenuTypeRow {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final long categoryCount;
+
+    public MenuTypeRow(Long id, String name, String description, Boolean isActive, LocalDateTime createdAt,
+                       Long categoryCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.categoryCount = categoryCount != null ? categoryCount : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getCategoryCount() {
+        return categoryCount;
+    }
+}
@@ -0,0 +1,161 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.partymenu.webapp.pricing.Money;
+
+/**
+ * Catalog counts and price statistics kept up to date one row at a time.
+ * <p>
+ * The last known state of every item and category is held, so each change is applied
+ * by withdrawing the old contribution and adding the new one. Available prices live in
+ * an ordered multiset of cents for min/max, next to a running sum and count for the average.
+ * Writers must be serialized by the caller; reads are lock-free and constant time.
+ */
+public final class CatalogAggregates {
+
+    private final Map<Long, ItemState> items = new HashMap<>();
+    private final Map<Long, CategoryState> categories = new HashMap<>();
+
+    private final TreeMap<Long, Integer> availablePrices = new TreeMap<>();
+    private long availablePriceSum;
+    private long availableCount;
+
+    private final Map<Long, Long> availableItemsByCategory = new ConcurrentHashMap<>();
+    private final Map<Long, Long> categoriesByMenuType = new ConcurrentHashMap<>();
+    private final Map<Long, Long> activeCategoriesByMenuType = new ConcurrentHashMap<>();
+    private volatile PriceStatistics priceStatistics = PriceStatistics.EMPTY;
+
+    // Insert or replace an item
+    public void putItem(long id, long categoryId, BigDecimal price, boolean available) {
+        withdraw(items.put(id, new ItemState(categoryId, Money.toCents(price), available)));
+        contribute(items.get(id));
+        publishPriceStatistics();
+    }
+
+    public void removeItem(long id) {
+        withdraw(items.remove(id));
+        publishPriceStatistics();
+    }
+
+    // Insert or replace a category
+    public void putCategory(long id, long menuTypeId, boolean active) {
+        withdraw(categories.put(id, new CategoryState(menuTypeId, active)));
+        contribute(categories.get(id));
+    }
+
+    // Remove a category together with its items, which the database deletes in cascade
+    public void removeCategory(long id) {
+        withdraw(categories.remove(id));
+        Iterator<ItemState> it = items.values().iterator();
+        while (it.hasNext()) {
+            ItemState item = it.next();
+            if (item.categoryId == id) {
+                withdraw(item);
+                it.remove();
+            }
+        }
+        availableItemsByCategory.remove(id);
+        publishPriceStatistics();
+    }
+
+    public PriceStatistics getPriceStatistics() {
+        return priceStatistics;
+    }
+
+    // Available items in a category
+    public long getAvailableItemCount(long categoryId) {
+        return availableItemsByCategory.getOrDefault(categoryId, 0L);
+    }
+
+    // All categories of a menu type, active or not
+    public long getCategoryCount(long menuTypeId) {
+        return categoriesByMenuType.getOrDefault(menuTypeId, 0L);
+    }
+
+    public long getActiveCategoryCount(long menuTypeId) {
+        return activeCategoriesByMenuType.getOrDefault(menuTypeId, 0L);
+    }
+
+    private void contribute(ItemState item) {
+        if (!item.available) {
+            return;
+        }
+        availablePrices.merge(item.priceCents, 1, Integer::sum);
+        availablePriceSum += item.priceCents;
+        availableCount++;
+        availableItemsByCategory.merge(item.categoryId, 1L, Long::sum);
+    }
+
+    private void withdraw(ItemState item) {
+        if (item == null || !item.available) {
+            return;
+        }
+        availablePrices.computeIfPresent(item.priceCents, (price, count) -> count > 1 ? count - 1 : null);
+        availablePriceSum -= item.priceCents;
+        availableCount--;
+        decrement(availableItemsByCategory, item.categoryId);
+    }
+
+    private void contribute(CategoryState category) {
+        categoriesByMenuType.merge(category.menuTypeId, 1L, Long::sum);
+        if (category.active) {
+            activeCategoriesByMenuType.merge(category.menuTypeId, 1L, Long::sum);
+        }
+    }
+
+    private void withdraw(CategoryState category) {
+        if (category == null) {
+            return;
+        }
+        decrement(categoriesByMenuType, category.menuTypeId);
+        if (category.active) {
+            decrement(activeCategoriesByMenuType, category.menuTypeId);
+        }
+    }
+
+    private static void decrement(Map<Long, Long> counts, long key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void publishPriceStatistics() {
+        if (availableCount == 0) {
+            priceStatistics = PriceStatistics.EMPTY;
+            return;
+        }
+        BigDecimal average = Money.toBigDecimal(availablePriceSum)
+                .divide(BigDecimal.valueOf(availableCount), 2, RoundingMode.HALF_UP);
+        priceStatistics = new PriceStatistics(Money.toBigDecimal(availablePrices.firstKey()),
+                Money.toBigDecimal(availablePrices.lastKey()), average, availableCount);
+    }
+
+    private static final class ItemState {
+
+        final long categoryId;
+        final long priceCents;
+        final boolean available;
+
+        ItemState(long categoryId, long priceCents, boolean available) {
+            this.categoryId = categoryId;
+            this.priceCents = priceCents;
+            this.available = available;
+        }
+    }
+
+    private static final class CategoryState {
+
+        final long menuTypeId;
+        final boolean active;
+
+        CategoryState(long menuTypeId, boolean active) {
+            this.menuTypeId = menuTypeId;
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.partymenu.webapp.catalog;
+
+/**
+ * Published by the catalog services whenever a menu type, category or menu item
+ * is created, updated, toggled or deleted. Listeners that keep derived copies of
+ * the catalog react to it once the surrounding transaction has committed.
+ * A bulk event carries no entity id and means any number of entities of its kind
+ * changed.
+ */
+public final class CatalogChangedEvent {
+
+    public enum Kind {
+        MENU_TYPE,
+        CATEGORY,
+        MENU_ITEM
+    }
+
+    private final Kind kind;
+    private final Long entityId;
+    private final boolean deleted;
+
+    public CatalogChangedEvent(Kind kind, Long entityId, boolean deleted) {
+        this.kind = kind;
+        this.entityId = entityId;
+        this.deleted = deleted;
+    }
+
+    public static CatalogChangedEvent saved(Kind kind, Long entityId) {
+        return new CatalogChangedEvent(kind, entityId, false);
+    }
+
+    public static CatalogChangedEvent deleted(Kind kind, Long entityId) {
+        return new CatalogChangedEvent(kind, entityId, true);
+    }
+
+    public static CatalogChangedEvent bulk(Kind kind) {
+        return new CatalogChangedEvent(kind, null, false);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public boolean isBulk() {
+        return entityId == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChangedEvent{" +
+                "kind=" + kind +
+                ", entityId=" + entityId +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
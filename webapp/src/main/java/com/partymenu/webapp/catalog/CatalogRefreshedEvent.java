@@ -0,0 +1,30 @@
+package com.partymenu.webapp.catalog;
+
+/**
+ * Published by {@code CatalogService} each time a new {@link CatalogSnapshot} has been
+ * swapped in. {@link #getCause()} is the change that triggered the rebuild, or
+ * {@code null} for the initial build.
+ */
+public final class CatalogRefreshedEvent {
+
+    private final CatalogSnapshot snapshot;
+    private final CatalogChangedEvent cause;
+
+    public CatalogRefreshedEvent(CatalogSnapshot snapshot, CatalogChangedEvent cause) {
+        this.snapshot = snapshot;
+        this.cause = cause;
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public CatalogChangedEvent getCause() {
+        return cause;
+    }
+
+    // True when only a single menu item changed, so derived structures can update in place
+    public boolean isSingleItemChange() {
+        return cause != null && cause.getKind() == CatalogChangedEvent.Kind.MENU_ITEM && !cause.isBulk();
+    }
+}
@@ -0,0 +1,49 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * One flattened MenuType / Category / MenuItem row of the catalog query, built by a
+ * JPQL constructor expression so no entities are hydrated or tracked. Category and
+ * item columns are null for menu types without active categories and for categories
+ * without items.
+ */
+public final class CatalogRow {
+
+    final Long menuTypeId;
+    final String menuTypeName;
+    final String menuTypeDescription;
+    final Long categoryId;
+    final String categoryName;
+    final String categoryDescription;
+    final Integer categoryDisplayOrder;
+    final Long itemId;
+    final String itemName;
+    final String itemDescription;
+    final BigDecimal itemPrice;
+    final String itemImageUrl;
+    final Boolean itemPopular;
+    final Boolean itemAvailable;
+    final Integer itemPreparationTime;
+
+    public CatalogRow(Long menuTypeId, String menuTypeName, String menuTypeDescription,
+                      Long categoryId, String categoryName, String categoryDescription, Integer categoryDisplayOrder,
+                      Long itemId, String itemName, String itemDescription, BigDecimal itemPrice, String itemImageUrl,
+                      Boolean itemPopular, Boolean itemAvailable, Integer itemPreparationTime) {
+        this.menuTypeId = menuTypeId;
+        this.menuTypeName = menuTypeName;
+        this.menuTypeDescription = menuTypeDescription;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryDescription = categoryDescription;
+        this.categoryDisplayOrder = categoryDisplayOrder;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.itemDescription = itemDescription;
+        this.itemPrice = itemPrice;
+        this.itemImageUrl = itemImageUrl;
+        this.itemPopular = itemPopular;
+        this.itemAvailable = itemAvailable;
+        this.itemPreparationTime = itemPreparationTime;
+    }
+}
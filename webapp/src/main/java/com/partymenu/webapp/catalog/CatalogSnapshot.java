@@ -0,0 +1,174 @@
+package com.partymenu.webapp.catalog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, versioned copy of the active MenuType -> Category -> MenuItem tree.
+ * <p>
+ * A snapshot is built in one pass from the catalog rows and never changes afterwards;
+ * writers publish a new snapshot instead of mutating this one, so readers can use
+ * it from any thread without locking and without touching the database.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<CategoryView> CATEGORY_ORDER =
+            Comparator.comparing((CategoryView c) -> c.getDisplayOrder() != null ? c.getDisplayOrder() : Integer.MAX_VALUE)
+                    .thenComparing(CategoryView::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private static final Comparator<ItemCard> ITEM_ORDER =
+            Comparator.comparing(ItemCard::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final long version;
+    private final Instant builtAt;
+
+    // Pre-sorted arrays, exposed through the unmodifiable list views below
+    private final MenuTypeView[] menuTypes;
+    private final ItemCard[] availableItems;
+    private final ItemCard[] popularItems;
+    private final List<MenuTypeView> menuTypesView;
+    private final List<ItemCard> availableItemsView;
+    private final List<ItemCard> popularItemsView;
+
+    private final Map<Long, MenuTypeView> menuTypesById;
+    private final Map<Long, CategoryView> categoriesById;
+    private final Map<Long, ItemCard> itemsById;
+
+    private CatalogSnapshot(long version, MenuTypeView[] menuTypes, ItemCard[] availableItems,
+                            ItemCard[] popularItems, Map<Long, MenuTypeView> menuTypesById,
+                            Map<Long, CategoryView> categoriesById, Map<Long, ItemCard> itemsById) {
+        this.version = version;
+        this.builtAt = Instant.now();
+        this.menuTypes = menuTypes;
+        this.availableItems = availableItems;
+        this.popularItems = popularItems;
+        this.menuTypesView = Collections.unmodifiableList(Arrays.asList(menuTypes));
+        this.availableItemsView = Collections.unmodifiableList(Arrays.asList(availableItems));
+        this.popularItemsView = Collections.unmodifiableList(Arrays.asList(popularItems));
+        this.menuTypesById = Collections.unmodifiableMap(menuTypesById);
+        this.categoriesById = Collections.unmodifiableMap(categoriesById);
+        this.itemsById = Collections.unmodifiableMap(itemsById);
+    }
+
+    /**
+     * Build a snapshot from the flattened rows of active menu types, their active
+     * categories and those categories' items, in any order.
+     */
+    public static CatalogSnapshot build(long version, List<CatalogRow> rows) {
+        Map<Long, MenuTypeView> menuTypesById = new HashMap<>();
+        Map<Long, CategoryView> categoriesById = new HashMap<>();
+        Map<Long, ItemCard> itemsById = new HashMap<>();
+        List<MenuTypeView> sortedMenuTypes = new ArrayList<>();
+        List<CategoryView> sortedCategories = new ArrayList<>();
+        List<ItemCard> sortedItems = new ArrayList<>(rows.size());
+        for (CatalogRow row : rows) {
+            MenuTypeView menuType = menuTypesById.get(row.menuTypeId);
+            if (menuType == null) {
+                menuType = new MenuTypeView(row);
+                menuTypesById.put(menuType.getId(), menuType);
+                sortedMenuTypes.add(menuType);
+            }
+            if (row.categoryId == null) {
+                continue;
+            }
+            CategoryView category = categoriesById.get(row.categoryId);
+            if (category == null) {
+                category = new CategoryView(row, menuType);
+                categoriesById.put(category.getId(), category);
+                sortedCategories.add(category);
+            }
+            if (row.itemId != null) {
+                ItemCard card = new ItemCard(row, category);
+                itemsById.put(card.getId(), card);
+                sortedItems.add(card);
+            }
+        }
+
+        sortedMenuTypes.sort(Comparator.comparing(MenuTypeView::getName, String.CASE_INSENSITIVE_ORDER));
+        sortedCategories.sort(CATEGORY_ORDER);
+        for (CategoryView category : sortedCategories) {
+            category.getMenuType().addCategory(category);
+        }
+        sortedItems.sort(ITEM_ORDER);
+
+        List<ItemCard> available = new ArrayList<>();
+        List<ItemCard> popular = new ArrayList<>();
+        for (ItemCard card : sortedItems) {
+            card.getCategory().addItem(card);
+            if (card.getIsAvailable()) {
+                available.add(card);
+                if (card.getIsPopular()) {
+                    popular.add(card);
+                }
+            }
+        }
+
+        return new CatalogSnapshot(version,
+                sortedMenuTypes.toArray(new MenuTypeView[0]),
+                available.toArray(new ItemCard[0]),
+                popular.toArray(new ItemCard[0]),
+                menuTypesById, categoriesById, itemsById);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    // Active menu types ordered by name
+    public List<MenuTypeView> getMenuTypes() {
+        return menuTypesView;
+    }
+
+    // Available items ordered by name
+    public List<ItemCard> getAvailableItems() {
+        return availableItemsView;
+    }
+
+    // Available popular items ordered by name
+    public List<ItemCard> getPopularItems() {
+        return popularItemsView;
+    }
+
+    public Optional<MenuTypeView> findMenuType(Long id) {
+        return Optional.ofNullable(menuTypesById.get(id));
+    }
+
+    public Optional<CategoryView> findCategory(Long id) {
+        return Optional.ofNullable(categoriesById.get(id));
+    }
+
+    public Optional<ItemCard> findItem(Long id) {
+        return Optional.ofNullable(itemsById.get(id));
+    }
+
+    // Resolve ids to available items, keeping the given order and skipping unknown ids
+    public List<ItemCard> findAvailableItems(List<Long> ids) {
+        List<ItemCard> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ItemCard item = itemsById.get(id);
+            if (item != null && item.getIsAvailable()) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    public int getMenuTypeCount() {
+        return menuTypes.length;
+    }
+
+    public int getItemCount() {
+        return itemsById.size();
+    }
+}
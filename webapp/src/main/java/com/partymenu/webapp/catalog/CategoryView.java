@@ -0,0 +1,67 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only copy of an active category held by a {@link CatalogSnapshot}.
+ * {@link #getMenuItems()} lists every item of the category, {@link #getAvailableItems()}
+ * only the ones that can currently be ordered; both are sorted by name.
+ */
+public final class CategoryView {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Integer displayOrder;
+    private final MenuTypeView menuType;
+    private final List<ItemCard> menuItems = new ArrayList<>();
+    private final List<ItemCard> menuItemsView = Collections.unmodifiableList(menuItems);
+    private final List<ItemCard> availableItems = new ArrayList<>();
+    private final List<ItemCard> availableItemsView = Collections.unmodifiableList(availableItems);
+
+    CategoryView(CatalogRow row, MenuTypeView menuType) {
+        this.id = row.categoryId;
+        this.name = row.categoryName;
+        this.description = row.categoryDescription;
+        this.displayOrder = row.categoryDisplayOrder;
+        this.menuType = menuType;
+    }
+
+    // Only called while the owning snapshot is being built
+    void addItem(ItemCard item) {
+        menuItems.add(item);
+        if (item.getIsAvailable()) {
+            availableItems.add(item);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getDisplayOrder() {
+        return displayOrder;
+    }
+
+    public MenuTypeView getMenuType() {
+        return menuType;
+    }
+
+    public List<ItemCard> getMenuItems() {
+        return menuItemsView;
+    }
+
+    public List<ItemCard> getAvailableItems() {
+        return availableItemsView;
+    }
+}
@@ -0,0 +1,304 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Faceted browse index over the available items of one {@link CatalogSnapshot}.
+ * <p>
+ * Items are numbered by ascending price, so a price range is a contiguous run of
+ * ordinals found by binary search over {@code priceCents}. Every facet value
+ * (menu type, category, popular, preparation time bucket) is a {@link BitSet} of
+ * ordinals; a query ANDs the selected values of each dimension and reads counts
+ * and pages straight off the resulting bits. Like the snapshot it is immutable;
+ * the scratch bitsets are per query.
+ */
+public final class FacetIndex {
+
+    public static final String MENU_TYPE = "menuType";
+    public static final String CATEGORY = "category";
+    public static final String PREP_TIME = "prepTime";
+    public static final String POPULAR = "popular";
+
+    private static final Comparator<ItemCard> PRICE_ORDER = Comparator.comparingLong(ItemCard::getPriceCents);
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.5");
+
+    private final long version;
+    private final ItemCard[] byPrice;
+    private final long[] priceCents;
+    private final int[] nameOrder;
+    private final int[] prepTimeOrder;
+
+    private final Map<Long, BitSet> byMenuType;
+    private final Map<Long, String> menuTypeLabels;
+    private final Map<Long, BitSet> byCategory;
+    private final Map<Long, String> categoryLabels;
+    private final Map<PrepTimeBucket, BitSet> byPrepTime;
+    private final BitSet popular;
+    private final BitSet regular;
+    private final BitSet all;
+
+    private FacetIndex(long version, ItemCard[] byPrice, int[] nameOrder, int[] prepTimeOrder,
+                       Map<Long, BitSet> byMenuType, Map<Long, String> menuTypeLabels,
+                       Map<Long, BitSet> byCategory, Map<Long, String> categoryLabels,
+                       Map<PrepTimeBucket, BitSet> byPrepTime, BitSet popular) {
+        this.version = version;
+        this.byPrice = byPrice;
+        this.priceCents = new long[byPrice.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            priceCents[i] = byPrice[i].getPriceCents();
+        }
+        this.nameOrder = nameOrder;
+        this.prepTimeOrder = prepTimeOrder;
+        this.byMenuType = byMenuType;
+        this.menuTypeLabels = menuTypeLabels;
+        this.byCategory = byCategory;
+        this.categoryLabels = categoryLabels;
+        this.byPrepTime = byPrepTime;
+        this.popular = popular;
+        this.all = new BitSet(byPrice.length);
+        all.set(0, byPrice.length);
+        this.regular = (BitSet) all.clone();
+        regular.andNot(popular);
+    }
+
+    public static FacetIndex build(CatalogSnapshot snapshot) {
+        List<ItemCard> byName = snapshot.getAvailableItems();
+        ItemCard[] byPrice = byName.toArray(new ItemCard[0]);
+        // Stable sort, so equal prices keep name order
+        Arrays.sort(byPrice, PRICE_ORDER);
+
+        Map<Long, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < byPrice.length; i++) {
+            ordinals.put(byPrice[i].getId(), i);
+        }
+        int[] nameOrder = new int[byPrice.length];
+        for (int i = 0; i < nameOrder.length; i++) {
+            nameOrder[i] = ordinals.get(byName.get(i).getId());
+        }
+        Integer[] prepTimeSorted = new Integer[byPrice.length];
+        for (int i = 0; i < prepTimeSorted.length; i++) {
+            prepTimeSorted[i] = i;
+        }
+        Arrays.sort(prepTimeSorted, Comparator.comparing((Integer i) -> byPrice[i].getPreparationTime(),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        int[] prepTimeOrder = Arrays.stream(prepTimeSorted).mapToInt(Integer::intValue).toArray();
+
+        // Facet values in snapshot display order; values without available items are left out
+        Map<Long, BitSet> byMenuType = new LinkedHashMap<>();
+        Map<Long, String> menuTypeLabels = new HashMap<>();
+        Map<Long, BitSet> byCategory = new LinkedHashMap<>();
+        Map<Long, String> categoryLabels = new HashMap<>();
+        for (MenuTypeView menuType : snapshot.getMenuTypes()) {
+            for (CategoryView category : menuType.getCategories()) {
+                if (category.getAvailableItems().isEmpty()) {
+                    continue;
+                }
+                BitSet categoryBits = new BitSet(byPrice.length);
+                for (ItemCard item : category.getAvailableItems()) {
+                    categoryBits.set(ordinals.get(item.getId()));
+                }
+                byCategory.put(category.getId(), categoryBits);
+                categoryLabels.put(category.getId(), category.getName());
+                byMenuType.computeIfAbsent(menuType.getId(), id -> new BitSet(byPrice.length)).or(categoryBits);
+                menuTypeLabels.put(menuType.getId(), menuType.getName());
+            }
+        }
+        Map<PrepTimeBucket, BitSet> byPrepTime = new EnumMap<>(PrepTimeBucket.class);
+        BitSet popular = new BitSet(byPrice.length);
+        for (int i = 0; i < byPrice.length; i++) {
+            PrepTimeBucket bucket = PrepTimeBucket.of(byPrice[i].getPreparationTime());
+            if (bucket != null) {
+                byPrepTime.computeIfAbsent(bucket, b -> new BitSet(byPrice.length)).set(i);
+            }
+            if (byPrice[i].getIsPopular()) {
+                popular.set(i);
+            }
+        }
+
+        return new FacetIndex(snapshot.getVersion(), byPrice, nameOrder, prepTimeOrder,
+                byMenuType, menuTypeLabels, byCategory, categoryLabels, byPrepTime, popular);
+    }
+
+    // Version of the snapshot this index was built from
+    public long getVersion() {
+        return version;
+    }
+
+    public FacetResult query(FacetQuery query) {
+        BitSet priceBits = priceRange(query.getMinPrice(), query.getMaxPrice());
+        BitSet menuTypeBits = union(byMenuType, query.getMenuTypeIds());
+        BitSet categoryBits = union(byCategory, query.getCategoryIds());
+        BitSet prepTimeBits = union(byPrepTime, query.getPrepTimes());
+        BitSet popularBits = query.getPopular() == null ? null : query.getPopular() ? popular : regular;
+
+        BitSet matches = intersect(priceBits, menuTypeBits, categoryBits, prepTimeBits, popularBits);
+
+        // Each dimension is counted against every filter except its own
+        BitSet scratch = new BitSet(byPrice.length);
+        Map<String, List<FacetResult.FacetValue>> facets = new LinkedHashMap<>();
+        facets.put(MENU_TYPE, counts(byMenuType, menuTypeLabels, query.getMenuTypeIds(),
+                intersect(priceBits, null, categoryBits, prepTimeBits, popularBits), scratch));
+        facets.put(CATEGORY, counts(byCategory, categoryLabels, query.getCategoryIds(),
+                intersect(priceBits, menuTypeBits, null, prepTimeBits, popularBits), scratch));
+        facets.put(PREP_TIME, prepTimeCounts(query.getPrepTimes(),
+                intersect(priceBits, menuTypeBits, categoryBits, null, popularBits), scratch));
+        facets.put(POPULAR, popularCounts(query.getPopular(),
+                intersect(priceBits, menuTypeBits, categoryBits, prepTimeBits, null), scratch));
+
+        BitSet unpriced = intersect(all, menuTypeBits, categoryBits, prepTimeBits, popularBits);
+        BigDecimal minPrice = unpriced.isEmpty() ? null : byPrice[unpriced.nextSetBit(0)].getPrice();
+        BigDecimal maxPrice = unpriced.isEmpty() ? null : byPrice[unpriced.previousSetBit(byPrice.length - 1)].getPrice();
+
+        return new FacetResult(version, matches.cardinality(), query.getOffset(), query.getLimit(),
+                page(matches, query), facets, minPrice, maxPrice);
+    }
+
+    private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        int from = minPrice == null ? 0 : firstAtLeast(toCents(minPrice, RoundingMode.CEILING));
+        long maxCents = maxPrice == null ? Long.MAX_VALUE : toCents(maxPrice, RoundingMode.FLOOR);
+        int to = maxCents == Long.MAX_VALUE ? byPrice.length : firstAtLeast(maxCents + 1);
+        BitSet bits = new BitSet(byPrice.length);
+        if (from < to) {
+            bits.set(from, to);
+        }
+        return bits;
+    }
+
+    // First ordinal whose price is at least the given cents, or the item count
+    private int firstAtLeast(long cents) {
+        int low = 0;
+        int high = priceCents.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceCents[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<FacetResult.Item> page(BitSet matches, FacetQuery query) {
+        List<FacetResult.Item> items = new ArrayList<>(Math.min(query.getLimit(), byPrice.length));
+        int skip = query.getOffset();
+        switch (query.getSort()) {
+            case PRICE_ASC -> {
+                for (int i = matches.nextSetBit(0); i >= 0 && items.size() < query.getLimit();
+                     i = matches.nextSetBit(i + 1)) {
+                    if (skip-- <= 0) {
+                        items.add(new FacetResult.Item(byPrice[i]));
+                    }
+                }
+            }
+            case PRICE_DESC -> {
+                for (int i = matches.previousSetBit(byPrice.length - 1); i >= 0 && items.size() < query.getLimit();
+                     i = matches.previousSetBit(i - 1)) {
+                    if (skip-- <= 0) {
+                        items.add(new FacetResult.Item(byPrice[i]));
+                    }
+                }
+            }
+            case NAME, PREP_TIME -> {
+                int[] order = query.getSort() == FacetQuery.Sort.NAME ? nameOrder : prepTimeOrder;
+                for (int k = 0; k < order.length && items.size() < query.getLimit(); k++) {
+                    if (matches.get(order[k]) && skip-- <= 0) {
+                        items.add(new FacetResult.Item(byPrice[order[k]]));
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    private static <K> List<FacetResult.FacetValue> counts(Map<K, BitSet> values, Map<K, String> labels,
+                                                           Set<K> selected, BitSet filter, BitSet scratch) {
+        List<FacetResult.FacetValue> counts = new ArrayList<>(values.size());
+        for (Map.Entry<K, BitSet> entry : values.entrySet()) {
+            counts.add(new FacetResult.FacetValue(entry.getKey().toString(), labels.get(entry.getKey()),
+                    andCardinality(filter, entry.getValue(), scratch), selected.contains(entry.getKey())));
+        }
+        return counts;
+    }
+
+    private List<FacetResult.FacetValue> prepTimeCounts(Set<PrepTimeBucket> selected, BitSet filter, BitSet scratch) {
+        List<FacetResult.FacetValue> counts = new ArrayList<>(byPrepTime.size());
+        for (Map.Entry<PrepTimeBucket, BitSet> entry : byPrepTime.entrySet()) {
+            counts.add(new FacetResult.FacetValue(entry.getKey().name(), entry.getKey().getLabel(),
+                    andCardinality(filter, entry.getValue(), scratch), selected.contains(entry.getKey())));
+        }
+        return counts;
+    }
+
+    private List<FacetResult.FacetValue> popularCounts(Boolean selected, BitSet filter, BitSet scratch) {
+        return List.of(
+                new FacetResult.FacetValue("true", "Popular", andCardinality(filter, popular, scratch),
+                        Boolean.TRUE.equals(selected)),
+                new FacetResult.FacetValue("false", "Regular", andCardinality(filter, regular, scratch),
+                        Boolean.FALSE.equals(selected)));
+    }
+
+    private static int andCardinality(BitSet a, BitSet b, BitSet scratch) {
+        scratch.clear();
+        scratch.or(a);
+        scratch.and(b);
+        return scratch.cardinality();
+    }
+
+    // OR of the selected values' bits, or null when nothing is selected (no filter)
+    private <K> BitSet union(Map<K, BitSet> values, Collection<K> selected) {
+        if (selected.isEmpty()) {
+            return null;
+        }
+        BitSet bits = new BitSet(byPrice.length);
+        for (K key : selected) {
+            BitSet value = values.get(key);
+            if (value != null) {
+                bits.or(value);
+            }
+        }
+        return bits;
+    }
+
+    // AND of the non-null filters, starting from a copy of the first
+    private static BitSet intersect(BitSet first, BitSet... others) {
+        BitSet bits = (BitSet) first.clone();
+        for (BitSet other : others) {
+            if (other != null) {
+                bits.and(other);
+            }
+        }
+        return bits;
+    }
+
+    // Bounds are request input: out-of-range ones are clamped, and extreme exponents never
+    // reach setScale, whose cost grows with the scale change
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal cents = price.movePointRight(2);
+        if (cents.compareTo(MAX_CENTS) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (cents.signum() != 0 && cents.precision() <= cents.scale()) {
+            // Below one cent in magnitude: rounds like half a cent of the same sign
+            cents = HALF_CENT.multiply(BigDecimal.valueOf(cents.signum()));
+        }
+        return cents.setScale(0, roundingMode).longValueExact();
+    }
+}
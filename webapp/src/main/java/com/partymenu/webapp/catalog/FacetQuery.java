@@ -0,0 +1,95 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filters, sort order and page for a {@link FacetIndex} query. Empty sets and null
+ * values mean "no filter" on that dimension; values within one dimension are OR-ed,
+ * dimensions are AND-ed.
+ */
+public final class FacetQuery {
+
+    public static final int DEFAULT_LIMIT = 24;
+    public static final int MAX_LIMIT = 100;
+
+    public enum Sort {
+        PRICE_ASC,
+        PRICE_DESC,
+        NAME,
+        PREP_TIME;
+
+        // Parse a request value case-insensitively, falling back to price ascending
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return PRICE_ASC;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return PRICE_ASC;
+            }
+        }
+    }
+
+    private final Set<Long> menuTypeIds;
+    private final Set<Long> categoryIds;
+    private final Set<PrepTimeBucket> prepTimes;
+    private final Boolean popular;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final Sort sort;
+    private final int offset;
+    private final int limit;
+
+    public FacetQuery(Set<Long> menuTypeIds, Set<Long> categoryIds, Set<PrepTimeBucket> prepTimes, Boolean popular,
+                      BigDecimal minPrice, BigDecimal maxPrice, Sort sort, int offset, int limit) {
+        this.menuTypeIds = menuTypeIds != null ? menuTypeIds : Collections.emptySet();
+        this.categoryIds = categoryIds != null ? categoryIds : Collections.emptySet();
+        this.prepTimes = prepTimes != null ? prepTimes : Collections.emptySet();
+        this.popular = popular;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.sort = sort != null ? sort : Sort.PRICE_ASC;
+        this.offset = Math.max(0, offset);
+        this.limit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    public Set<Long> getMenuTypeIds() {
+        return menuTypeIds;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public Set<PrepTimeBucket> getPrepTimes() {
+        return prepTimes;
+    }
+
+    public Boolean getPopular() {
+        return popular;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
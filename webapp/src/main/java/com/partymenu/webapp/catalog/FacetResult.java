@@ -0,0 +1,162 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of faceted browse results with the counts for every facet value.
+ * Counts for a dimension apply every other active filter but not that dimension's
+ * own, so they tell how many items selecting that value would add or leave.
+ */
+public final class FacetResult {
+
+    private final long catalogVersion;
+    private final int total;
+    private final int offset;
+    private final int limit;
+    private final List<Item> items;
+    private final Map<String, List<FacetValue>> facets;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+
+    public FacetResult(long catalogVersion, int total, int offset, int limit, List<Item> items,
+                       Map<String, List<FacetValue>> facets, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.catalogVersion = catalogVersion;
+        this.total = total;
+        this.offset = offset;
+        this.limit = limit;
+        this.items = items;
+        this.facets = facets;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    // Facet values by dimension: menuType, category, prepTime and popular
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+
+    // Price bounds of the items matching every filter except the price range
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Flat, serializable summary of an {@link ItemCard}.
+     */
+    public static final class Item {
+
+        private final ItemCard card;
+
+        Item(ItemCard card) {
+            this.card = card;
+        }
+
+        public Long getId() {
+            return card.getId();
+        }
+
+        public String getName() {
+            return card.getName();
+        }
+
+        public BigDecimal getPrice() {
+            return card.getPrice();
+        }
+
+        public String getFormattedPrice() {
+            return card.getFormattedPrice();
+        }
+
+        public String getImageUrl() {
+            return card.getImageUrl();
+        }
+
+        public boolean isPopular() {
+            return card.getIsPopular();
+        }
+
+        public Integer getPreparationTime() {
+            return card.getPreparationTime();
+        }
+
+        public Long getCategoryId() {
+            return card.getCategory().getId();
+        }
+
+        public String getCategoryName() {
+            return card.getCategory().getName();
+        }
+
+        public Long getMenuTypeId() {
+            return card.getCategory().getMenuType().getId();
+        }
+
+        public String getMenuTypeName() {
+            return card.getCategory().getMenuType().getName();
+        }
+
+        public String getUrl() {
+            return "/menu/item/" + card.getId();
+        }
+    }
+
+    /**
+     * One selectable facet value and the number of items it matches.
+     */
+    public static final class FacetValue {
+
+        private final String value;
+        private final String label;
+        private final int count;
+        private final boolean selected;
+
+        FacetValue(String value, String label, int count, boolean selected) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+            this.selected = selected;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isSelected() {
+            return selected;
+        }
+    }
+}
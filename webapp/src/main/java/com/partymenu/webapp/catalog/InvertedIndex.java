@@ -0,0 +1,208 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over menu item names and descriptions.
+ * <p>
+ * Every token is posted under its full form and under each of its prefixes (up to
+ * {@link #MAX_PREFIX_LENGTH} characters), so a partially typed word is a single map
+ * lookup. Postings carry a weight that favours name hits over description hits and
+ * whole-word hits over prefix hits; query terms are AND-ed and scored with an
+ * inverse-document-frequency factor.
+ */
+public final class InvertedIndex {
+
+    static final int MAX_PREFIX_LENGTH = 16;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int WHOLE_WORD_BONUS = 2;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Document {
+        private final String name;
+        private final Set<String> tokens;
+        private final Set<String> keys;
+
+        private Document(String name, Set<String> tokens, Set<String> keys) {
+            this.name = name;
+            this.tokens = tokens;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Hit {
+        private final Long id;
+        private final String name;
+        private final double score;
+
+        private Hit(Long id, String name, double score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+    }
+
+    // Add or replace the document for the given id
+    public void put(Long id, String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        Set<String> tokens = new LinkedHashSet<>();
+        collect(name, NAME_WEIGHT, weights, tokens);
+        collect(description, DESCRIPTION_WEIGHT, weights, tokens);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new Document(name != null ? name : "", tokens, weights.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the ids of documents matching every term of the query, best match first.
+     * Ties are broken by name so results are stable between calls.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(key(term));
+                if (posting == null) {
+                    return List.of();
+                }
+                termPostings.add(posting);
+            }
+
+            // Start from the rarest term so the candidate set is as small as possible
+            List<Integer> order = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                order.add(i);
+            }
+            order.sort(Comparator.comparingInt(i -> termPostings.get(i).size()));
+
+            int documentCount = documents.size();
+            Map<Long, Double> scores = null;
+            for (int i : order) {
+                String term = terms.get(i);
+                Map<Long, Integer> posting = termPostings.get(i);
+                double idf = Math.log(1.0 + (double) documentCount / posting.size());
+                Map<Long, Double> next = new HashMap<>();
+                Iterable<Long> candidates = scores == null ? posting.keySet() : scores.keySet();
+                for (Long id : candidates) {
+                    Integer weight = posting.get(id);
+                    if (weight == null || !matches(id, term)) {
+                        continue;
+                    }
+                    double previous = scores == null ? 0.0 : scores.get(id);
+                    next.put(id, previous + weight * idf);
+                }
+                if (next.isEmpty()) {
+                    return List.of();
+                }
+                scores = next;
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                hits.add(new Hit(entry.getKey(), documents.get(entry.getKey()).name, entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+                    .thenComparing(hit -> hit.name, String.CASE_INSENSITIVE_ORDER));
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, hits.size()));
+            for (int i = 0; i < hits.size() && i < limit; i++) {
+                ids.add(hits.get(i).id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.keys) {
+            Map<Long, Integer> posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    // Terms longer than the prefix cap are looked up by their capped prefix and verified
+    private boolean matches(Long id, String term) {
+        if (term.length() <= MAX_PREFIX_LENGTH) {
+            return true;
+        }
+        for (String token : documents.get(id).tokens) {
+            if (token.startsWith(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String term) {
+        return term.length() > MAX_PREFIX_LENGTH ? term.substring(0, MAX_PREFIX_LENGTH) : term;
+    }
+
+    private static void collect(String text, int fieldWeight, Map<String, Integer> weights, Set<String> tokens) {
+        Map<String, Integer> fieldWeights = new HashMap<>();
+        for (String token : TextTokenizer.tokenize(text)) {
+            tokens.add(token);
+            int prefixCap = Math.min(token.length(), MAX_PREFIX_LENGTH);
+            for (int length = 1; length <= prefixCap; length++) {
+                boolean wholeWord = length == token.length();
+                int weight = fieldWeight * (wholeWord ? WHOLE_WORD_BONUS : 1);
+                fieldWeights.merge(token.substring(0, length), weight, Math::max);
+            }
+        }
+        fieldWeights.forEach((key, weight) -> weights.merge(key, weight, Integer::sum));
+    }
+}
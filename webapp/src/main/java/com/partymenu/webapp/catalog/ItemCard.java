@@ -0,0 +1,91 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+
+import com.partymenu.webapp.pricing.Money;
+
+/**
+ * Read-only copy of a menu item held by a {@link CatalogSnapshot}.
+ * Display strings are computed once when the snapshot is built, formatted as
+ * {@code MenuItem} formats them.
+ */
+public final class ItemCard {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final long priceCents;
+    private final String formattedPrice;
+    private final String imageUrl;
+    private final boolean popular;
+    private final boolean available;
+    private final Integer preparationTime;
+    private final String preparationTimeText;
+    private final CategoryView category;
+
+    ItemCard(CatalogRow row, CategoryView category) {
+        this.id = row.itemId;
+        this.name = row.itemName;
+        this.description = row.itemDescription;
+        this.price = row.itemPrice;
+        this.priceCents = Money.toCents(row.itemPrice);
+        this.formattedPrice = Money.format(priceCents);
+        this.imageUrl = row.itemImageUrl;
+        this.popular = Boolean.TRUE.equals(row.itemPopular);
+        this.available = Boolean.TRUE.equals(row.itemAvailable);
+        this.preparationTime = row.itemPreparationTime;
+        this.preparationTimeText = row.itemPreparationTime != null
+                ? row.itemPreparationTime + " min" + (row.itemPreparationTime > 1 ? "s" : "")
+                : null;
+        this.category = category;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    public String getFormattedPrice() {
+        return formattedPrice;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Boolean getIsPopular() {
+        return popular;
+    }
+
+    public Boolean getIsAvailable() {
+        return available;
+    }
+
+    public Integer getPreparationTime() {
+        return preparationTime;
+    }
+
+    public String getPreparationTimeText() {
+        return preparationTimeText;
+    }
+
+    public CategoryView getCategory() {
+        return category;
+    }
+}
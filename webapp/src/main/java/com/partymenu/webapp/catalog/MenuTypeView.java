@@ -0,0 +1,45 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only copy of an active menu type held by a {@link CatalogSnapshot}.
+ * Exposes the same property names as the entity so templates can render either.
+ */
+public final class MenuTypeView {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final List<CategoryView> categories = new ArrayList<>();
+    private final List<CategoryView> categoriesView = Collections.unmodifiableList(categories);
+
+    MenuTypeView(CatalogRow row) {
+        this.id = row.menuTypeId;
+        this.name = row.menuTypeName;
+        this.description = row.menuTypeDescription;
+    }
+
+    // Only called while the owning snapshot is being built
+    void addCategory(CategoryView category) {
+        categories.add(category);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<CategoryView> getCategories() {
+        return categoriesView;
+    }
+}
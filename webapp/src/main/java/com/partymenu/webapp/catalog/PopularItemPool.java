@@ -0,0 +1,82 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The ids of the popular, available items of one catalog snapshot, sampled without
+ * touching the database. Each thread shuffles its own copy of the id array in place
+ * with a partial Fisher-Yates pass. Because every pass starts from a random
+ * permutation, the copy never needs resetting. It is only re-copied when the pool
+ * membership changes.
+ */
+public final class PopularItemPool {
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+    private final CatalogSnapshot snapshot;
+    private final long[] ids;
+
+    private PopularItemPool(CatalogSnapshot snapshot, long[] ids) {
+        this.snapshot = snapshot;
+        this.ids = ids;
+    }
+
+    // Reuses the previous id array when membership is unchanged, keeping per-thread copies valid
+    public static PopularItemPool of(CatalogSnapshot snapshot, PopularItemPool previous) {
+        List<ItemCard> popular = snapshot.getPopularItems();
+        long[] ids = new long[popular.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = popular.get(i).getId();
+        }
+        if (previous != null && Arrays.equals(previous.ids, ids)) {
+            ids = previous.ids;
+        }
+        return new PopularItemPool(snapshot, ids);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Up to limit distinct popular items in random order
+    public List<ItemCard> sample(int limit) {
+        int count = Math.min(limit, ids.length);
+        List<ItemCard> sample = new ArrayList<>(count);
+        if (count == 0) {
+            return sample;
+        }
+
+        long[] shuffled = scratch();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(shuffled.length - i);
+            long id = shuffled[j];
+            shuffled[j] = shuffled[i];
+            shuffled[i] = id;
+            snapshot.findItem(id).ifPresent(sample::add);
+        }
+        return sample;
+    }
+
+    private long[] scratch() {
+        Scratch scratch = SCRATCH.get();
+        if (scratch == null || scratch.source != ids) {
+            scratch = new Scratch(ids, ids.clone());
+            SCRATCH.set(scratch);
+        }
+        return scratch.ids;
+    }
+
+    private static final class Scratch {
+        final long[] source;
+        final long[] ids;
+
+        Scratch(long[] source, long[] ids) {
+            this.source = source;
+            this.ids = ids;
+        }
+    }
+}
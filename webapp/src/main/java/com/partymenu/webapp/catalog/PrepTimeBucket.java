@@ -0,0 +1,51 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.Locale;
+
+/**
+ * Preparation time ranges offered as a browse facet.
+ */
+public enum PrepTimeBucket {
+
+    QUICK("Up to 15 mins", 15),
+    STANDARD("16 - 30 mins", 30),
+    SLOW("31 - 45 mins", 45),
+    LONG("Over 45 mins", Integer.MAX_VALUE);
+
+    private final String label;
+    private final int maxMinutes;
+
+    PrepTimeBucket(String label, int maxMinutes) {
+        this.label = label;
+        this.maxMinutes = maxMinutes;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Bucket for a preparation time, or null when the item has none
+    public static PrepTimeBucket of(Integer minutes) {
+        if (minutes == null) {
+            return null;
+        }
+        for (PrepTimeBucket bucket : values()) {
+            if (minutes <= bucket.maxMinutes) {
+                return bucket;
+            }
+        }
+        return LONG;
+    }
+
+    // Parse a request value case-insensitively; unknown values give null
+    public static PrepTimeBucket parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.partymenu.webapp.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * Minimum, maximum and average price over available menu items. All three are
+ * null when no item is available.
+ */
+public final class PriceStatistics {
+
+    public static final PriceStatistics EMPTY = new PriceStatistics(null, null, null, 0);
+
+    private final BigDecimal min;
+    private final BigDecimal max;
+    private final BigDecimal average;
+    private final long count;
+
+    public PriceStatistics(BigDecimal min, BigDecimal max, BigDecimal average, long count) {
+        this.min = min;
+        this.max = max;
+        this.average = average;
+        this.count = count;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceStatistics{" +
+                "min=" + min +
+                ", max=" + max +
+                ", average=" + average +
+                ", count=" + count +
+                '}';
+    }
+}
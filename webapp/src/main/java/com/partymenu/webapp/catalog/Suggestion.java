@@ -0,0 +1,60 @@
+package com.partymenu.webapp.catalog;
+
+/**
+ * One type-ahead suggestion: a menu item or category name and where it links to.
+ */
+public final class Suggestion {
+
+    public enum Type {
+        ITEM,
+        CATEGORY
+    }
+
+    private final Type type;
+    private final Long id;
+    private final String name;
+    private final int weight;
+
+    public Suggestion(Type type, Long id, String name, int weight) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.weight = weight;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return type == Type.ITEM ? "/menu/item/" + id : "/menu/category/" + id;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Suggestion other)) {
+            return false;
+        }
+        return type == other.type && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + id.hashCode();
+    }
+}
@@ -0,0 +1,229 @@
+package com.partymenu.webapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed (radix) prefix trie of folded names used for type-ahead suggestions.
+ * <p>
+ * Every node caches the best {@link #TOP_K} suggestions of its subtree, so a lookup
+ * walks at most the length of the prefix and then copies a cached array regardless
+ * of how many names share that prefix. A name is inserted once per word position,
+ * which lets "tik" find "Chicken Tikka". Inserts and removals refresh the caches on
+ * the affected path only.
+ */
+public final class SuggestionTrie {
+
+    public static final int TOP_K = 10;
+
+    private static final Comparator<Suggestion> RANKING =
+            Comparator.comparingInt(Suggestion::getWeight).reversed()
+                    .thenComparing(Suggestion::getName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Suggestion::getId);
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+
+    private final Node root = new Node("");
+    private final Map<Suggestion, List<String>> keysBySuggestion = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private Suggestion[] top = NONE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private void refreshTop() {
+            Set<Suggestion> merged = new LinkedHashSet<>(terminals);
+            for (Node child : children.values()) {
+                for (Suggestion suggestion : child.top) {
+                    merged.add(suggestion);
+                }
+            }
+            List<Suggestion> ranked = new ArrayList<>(merged);
+            ranked.sort(RANKING);
+            top = ranked.subList(0, Math.min(TOP_K, ranked.size())).toArray(NONE);
+        }
+    }
+
+    // Add or replace a suggestion, indexed under its name and every trailing run of words
+    public void put(Suggestion suggestion) {
+        List<String> keys = keysFor(suggestion.getName());
+        lock.writeLock().lock();
+        try {
+            removeLocked(suggestion);
+            for (String key : keys) {
+                insert(key, suggestion);
+            }
+            keysBySuggestion.put(suggestion, keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Suggestion.Type type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(new Suggestion(type, id, "", 0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keysBySuggestion.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best suggestions whose name (or a word inside it) starts with the given prefix
+    public List<Suggestion> lookup(String prefix, int limit) {
+        String key = String.join(" ", TextTokenizer.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int offset = 0;
+            while (offset < key.length()) {
+                Node child = node.children.get(key.charAt(offset));
+                if (child == null) {
+                    return List.of();
+                }
+                String remaining = key.substring(offset);
+                if (child.label.startsWith(remaining)) {
+                    node = child;
+                    break;
+                }
+                if (!remaining.startsWith(child.label)) {
+                    return List.of();
+                }
+                offset += child.label.length();
+                node = child;
+            }
+            Suggestion[] top = node.top;
+            return List.of(top).subList(0, Math.min(limit, top.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            String remaining = key.substring(offset);
+            Node child = node.children.get(remaining.charAt(0));
+            if (child == null) {
+                child = new Node(remaining);
+                node.children.put(remaining.charAt(0), child);
+                node = child;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefixLength(child.label, remaining);
+            if (common < child.label.length()) {
+                // Split the edge so the shared part becomes its own node
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                split.refreshTop();
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+            offset += common;
+            node = child;
+            path.add(node);
+        }
+        if (!node.terminals.contains(suggestion)) {
+            node.terminals.add(suggestion);
+        }
+        refreshPath(path);
+    }
+
+    private void removeLocked(Suggestion suggestion) {
+        List<String> keys = keysBySuggestion.remove(suggestion);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int offset = 0;
+            while (node != null && offset < key.length()) {
+                node = node.children.get(key.charAt(offset));
+                if (node != null) {
+                    offset += node.label.length();
+                    path.add(node);
+                }
+            }
+            if (node == null) {
+                continue;
+            }
+            node.terminals.remove(suggestion);
+            prune(path);
+            refreshPath(path);
+        }
+    }
+
+    // Drop nodes left without suggestions or children, walking back towards the root, then
+    // fold a remaining node with no suggestions and a single child back into that child
+    private static void prune(List<Node> path) {
+        int last = path.size() - 1;
+        while (last > 0 && path.get(last).terminals.isEmpty() && path.get(last).children.isEmpty()) {
+            Node node = path.remove(last);
+            last--;
+            path.get(last).children.remove(node.label.charAt(0));
+        }
+        Node node = path.get(last);
+        if (last > 0 && node.terminals.isEmpty() && node.children.size() == 1) {
+            Node only = node.children.values().iterator().next();
+            node.label = node.label + only.label;
+            node.children.clear();
+            node.children.putAll(only.children);
+            node.terminals.addAll(only.terminals);
+        }
+    }
+
+    private static void refreshPath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).refreshTop();
+        }
+    }
+
+    private static List<String> keysFor(String name) {
+        List<String> tokens = TextTokenizer.tokenize(name);
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,87 @@
+package com.partymenu.webapp.config;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hibernate second-level cache regions for the read-mostly catalog entities, backed
+ * by Caffeine through JCache. Every region is created here with its own size bound;
+ * Hibernate is told to fail on any region it would otherwise create unbounded.
+ * Region names match the {@code @Cache} annotations on the entities.
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+    public static final String MENU_TYPES = "catalog.menuTypes";
+    public static final String MENU_TYPE_CATEGORIES = "catalog.menuType.categories";
+    public static final String CATEGORIES = "catalog.categories";
+    public static final String CATEGORY_MENU_ITEMS = "catalog.category.menuItems";
+    public static final String MENU_ITEMS = "catalog.menuItems";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager catalogCacheManager(
+            @Value("${partymenu.cache.menu-types.max-size:500}") long menuTypesSize,
+            @Value("${partymenu.cache.categories.max-size:5000}") long categoriesSize,
+            @Value("${partymenu.cache.menu-items.max-size:50000}") long menuItemsSize,
+            @Value("${partymenu.cache.query-results.max-size:5000}") long queryResultsSize) {
+        Map<String, Long> regions = new LinkedHashMap<>();
+        regions.put(MENU_TYPES, menuTypesSize);
+        regions.put(MENU_TYPE_CATEGORIES, menuTypesSize);
+        regions.put(CATEGORIES, categoriesSize);
+        regions.put(CATEGORY_MENU_ITEMS, categoriesSize);
+        regions.put(MENU_ITEMS, menuItemsSize);
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryResultsSize);
+        // One entry per table; evicting it would let stale query results through
+        regions.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("partymenu-catalog"), getClass().getClassLoader());
+        regions.forEach((region, maximumSize) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setNativeStatisticsEnabled(true);
+            if (maximumSize != null) {
+                configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            }
+            cacheManager.createCache(region, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogCacheCustomizer(CacheManager catalogCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, catalogCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Size, hit, miss and eviction counts per region, tagged cache=<region>
+    @Bean
+    public MeterBinder catalogCacheMetrics(CacheManager catalogCacheManager) {
+        return registry -> {
+            for (String region : catalogCacheManager.getCacheNames()) {
+                Cache<?, ?> cache = catalogCacheManager.getCache(region).unwrap(Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, region);
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.partymenu.webapp.config;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.service.AuthenticatedUser;
+import com.partymenu.webapp.service.CartBadgeService;
+import com.partymenu.webapp.service.CartKey;
+import com.partymenu.webapp.service.CatalogService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Answers conditional GETs for the public menu pages from the catalog snapshot.
+ * A page only changes when the catalog is rebuilt, when the visitor's session
+ * changes (login state and CSRF token are rendered into it) or when the item count
+ * of the header's cart badge changes. So the ETag combines the snapshot build, a
+ * hash of the session id and the cached badge count. An unchanged page returns
+ * 304 before the controller runs.
+ */
+@Component
+public class CatalogConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final CatalogService catalogService;
+    private final CartBadgeService cartBadgeService;
+
+    public CatalogConditionalRequestInterceptor(CatalogService catalogService, CartBadgeService cartBadgeService) {
+        this.catalogService = catalogService;
+        this.cartBadgeService = cartBadgeService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        // Flash messages are rendered once; such responses must not be revalidated later
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            return true;
+        }
+
+        // Set before the security headers writer, which would otherwise add no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        String cartTag = cartTag(request);
+        if (cartTag == null) {
+            return true;
+        }
+
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        long lastModified = snapshot.getBuiltAt().toEpochMilli();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(snapshot.getVersion())
+                + "-" + viewerTag(request) + "-" + cartTag + "\"";
+        // The count is not a modification time, so only the ETag can tell that the badge changed
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String viewerTag(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null ? Integer.toHexString(session.getId().hashCode()) : "0";
+    }
+
+    // The badge count the page would render; null for sessions from before the principal carried the user id
+    private String cartTag(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CartKey key;
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            key = CartKey.user(user.getId());
+        } else if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            HttpSession session = request.getSession(false);
+            if (session == null) {
+                return "0";
+            }
+            key = CartKey.session(session.getId());
+        } else {
+            return null;
+        }
+        return Integer.toHexString(cartBadgeService.getTotalItems(key));
+    }
+}
@@ -0,0 +1,74 @@
+package com.partymenu.webapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps how many threads may be inside {@code getConnection()} at once. A thread beyond
+ * the cap fails immediately with {@link SQLTransientConnectionException} instead of
+ * queueing on the pool for the whole connection timeout, so a burst of requests on
+ * virtual threads is shed at the pool rather than piling up behind it.
+ */
+public class ConnectionWaitGuard extends DelegatingDataSource {
+
+    private final int maxWaiting;
+    private final Semaphore waiting;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConnectionWaitGuard(DataSource targetDataSource, int maxWaiting) {
+        super(targetDataSource);
+        if (maxWaiting < 1) {
+            throw new IllegalArgumentException("maxWaiting must be at least 1");
+        }
+        this.maxWaiting = maxWaiting;
+        this.waiting = new Semaphore(maxWaiting);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return super.getConnection();
+        } finally {
+            waiting.release();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            waiting.release();
+        }
+    }
+
+    private void admit() throws SQLTransientConnectionException {
+        if (!waiting.tryAcquire()) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    maxWaiting + " threads are already waiting for a database connection");
+        }
+    }
+
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    // Threads currently acquiring a connection, including those the pool serves at once
+    public int getWaiting() {
+        return maxWaiting - waiting.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,172 @@
+package com.partymenu.webapp.config;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Startup guard for the indexes in {@code db/migration}: every hot query below is run
+ * through PostgreSQL's {@code EXPLAIN}, and startup fails if any plan reads a table of at
+ * least {@code partymenu.schema.plan-check.min-rows} rows with a sequential scan.
+ * Smaller tables are skipped because the planner rightly prefers scanning them whole.
+ * <p>
+ * The queries mirror the SQL of the repository finders they are named after; add one here
+ * whenever a new finder sits on a request path.
+ */
+@Component
+public class QueryPlanCheck implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCheck.class);
+
+    private static final String LARGE_TABLES =
+            "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE c.relkind = 'r' AND n.nspname = current_schema() AND c.reltuples >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long minRows;
+    private final Map<String, HotQuery> hotQueries = new LinkedHashMap<>();
+
+    public QueryPlanCheck(JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper,
+                          @Value("${partymenu.schema.plan-check.enabled:true}") boolean enabled,
+                          @Value("${partymenu.schema.plan-check.min-rows:10000}") long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.minRows = minRows;
+        registerHotQueries();
+    }
+
+    private void registerHotQueries() {
+        Timestamp idleCutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        register("CartItemRepository.findSessionCartWithMenuItems",
+                "SELECT ci.*, mi.*, c.* FROM cart_items ci JOIN menu_items mi ON mi.id = ci.menu_item_id " +
+                "JOIN categories c ON c.id = mi.category_id " +
+                "WHERE ci.session_id = ? AND ci.user_id IS NULL ORDER BY ci.created_at DESC",
+                "plan-check-session");
+        register("CartItemUpsertRepository.addToSessionCart",
+                "SELECT * FROM cart_items WHERE session_id = ? AND user_id IS NULL AND menu_item_id = ?",
+                "plan-check-session", 1L);
+        register("CartItemRepository.findUserCartWithMenuItems",
+                "SELECT ci.*, mi.*, c.* FROM cart_items ci JOIN menu_items mi ON mi.id = ci.menu_item_id " +
+                "JOIN categories c ON c.id = mi.category_id WHERE ci.user_id = ? ORDER BY ci.created_at DESC",
+                1L);
+        register("CartItemUpsertRepository.addToUserCart",
+                "SELECT * FROM cart_items WHERE user_id = ? AND menu_item_id = ?", 1L, 1L);
+        register("CartExpiryService.expireIdleSessionCarts",
+                "SELECT ci.id FROM cart_items ci WHERE ci.user_id IS NULL AND ci.updated_at < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM cart_items recent WHERE recent.session_id = ci.session_id " +
+                "AND recent.user_id IS NULL AND recent.updated_at >= ?) ORDER BY ci.updated_at LIMIT 1000",
+                idleCutoff, idleCutoff);
+        register("MenuItemRepository.findByCategory_IdAndIsAvailableTrueOrderByNameAsc",
+                "SELECT * FROM menu_items WHERE category_id = ? AND is_available = true ORDER BY name", 1L);
+        register("MenuItemRepository.findCheapestItemsInCategory",
+                "SELECT * FROM menu_items WHERE category_id = ? AND is_available = true ORDER BY price", 1L);
+        register("MenuItemRepository.findByIsPopularTrueAndIsAvailableTrueOrderByNameAsc",
+                "SELECT * FROM menu_items WHERE is_popular = true AND is_available = true ORDER BY name");
+        register("MenuItemRepository.findByNameContainingIgnoreCaseAndIsAvailableTrueOrderByNameAsc",
+                "SELECT * FROM menu_items WHERE upper(name) LIKE upper(?) AND is_available = true ORDER BY name",
+                "%plan check%");
+        register("MenuItemRepository.findByPriceBetweenAndIsAvailableTrueOrderByPriceAsc",
+                "SELECT * FROM menu_items WHERE price BETWEEN ? AND ? AND is_available = true ORDER BY price",
+                new BigDecimal("10.00"), new BigDecimal("10.50"));
+        register("CategoryRepository.findByMenuType_IdAndIsActiveTrueOrderByDisplayOrderAsc",
+                "SELECT * FROM categories WHERE menu_type_id = ? AND is_active = true ORDER BY display_order", 1L);
+        register("CategoryRepository.findByNameIgnoreCaseAndMenuType",
+                "SELECT * FROM categories WHERE upper(name) = upper(?) AND menu_type_id = ?", "plan check", 1L);
+        register("MenuTypeRepository.findByNameIgnoreCase",
+                "SELECT * FROM menu_types WHERE upper(name) = upper(?)", "plan check");
+    }
+
+    private void register(String name, String sql, Object... args) {
+        hotQueries.put(name, new HotQuery(sql, args));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (!enabled || !isPostgreSql()) {
+            return;
+        }
+        Set<String> largeTables = new HashSet<>(jdbcTemplate.queryForList(LARGE_TABLES, String.class, minRows));
+        if (largeTables.isEmpty()) {
+            log.debug("Query plan check skipped: no table has {} rows yet", minRows);
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        hotQueries.forEach((name, query) -> {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql, String.class, query.args);
+            for (String table : sequentialScans(plan)) {
+                if (largeTables.contains(table)) {
+                    failures.add(name + " scans " + table + " sequentially");
+                }
+            }
+        });
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Hot queries without a usable index: " + String.join("; ", failures));
+        }
+        log.info("Query plan check passed for {} hot queries", hotQueries.size());
+    }
+
+    private boolean isPostgreSql() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    // Relation names of every Seq Scan node in an EXPLAIN (FORMAT JSON) plan
+    private List<String> sequentialScans(String plan) {
+        try {
+            List<String> tables = new ArrayList<>();
+            collectSequentialScans(objectMapper.readTree(plan).path(0).path("Plan"), tables);
+            return tables;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan: " + plan, e);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    private static final class HotQuery {
+
+        final String sql;
+        final Object[] args;
+
+        HotQuery(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+}
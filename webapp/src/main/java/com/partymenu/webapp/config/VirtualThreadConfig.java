@@ -0,0 +1,79 @@
+package com.partymenu.webapp.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true}
+ * on Java 21 (build with {@code -Pjava21}). Spring Boot then runs Tomcat request handling,
+ * the {@code @Async} executor and the {@code @Scheduled} scheduler on virtual threads.
+ * <p>
+ * Request concurrency is then bounded by the connection pool instead of
+ * {@code server.tomcat.threads.max}, so the pool is wrapped in a {@link ConnectionWaitGuard}
+ * admitting at most {@code partymenu.datasource.waiting-per-connection} waiters per pooled
+ * connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // Static, so it is created before any data source; the Java version is checked just as early
+    @Bean
+    public static BeanPostProcessor connectionWaitGuardPostProcessor(Environment environment) {
+        // Spring Boot silently keeps platform threads below Java 21
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java 21, running on "
+                    + Runtime.version() + "; build and run with -Pjava21");
+        }
+        int waitingPerConnection = environment.getProperty("partymenu.datasource.waiting-per-connection",
+                Integer.class, 4);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                try {
+                    if (bean instanceof DataSource dataSource && dataSource.isWrapperFor(HikariDataSource.class)) {
+                        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                        // Unset until the pool starts, when Hikari applies its default
+                        if (poolSize < 1) {
+                            poolSize = DEFAULT_POOL_SIZE;
+                        }
+                        return new ConnectionWaitGuard(dataSource, poolSize * waitingPerConnection);
+                    }
+                    return bean;
+                } catch (SQLException e) {
+                    throw new BeanInitializationException("Cannot guard data source " + beanName, e);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionWaitGuardMetrics(DataSource dataSource) throws SQLException {
+        ConnectionWaitGuard guard = dataSource.unwrap(ConnectionWaitGuard.class);
+        return registry -> {
+            Gauge.builder("partymenu.datasource.waiting", guard, ConnectionWaitGuard::getWaiting)
+                    .description("Threads acquiring a pooled connection")
+                    .register(registry);
+            FunctionCounter.builder("partymenu.datasource.rejected", guard, ConnectionWaitGuard::getRejected)
+                    .description("Connection requests refused because too many threads were waiting")
+                    .register(registry);
+        };
+    }
+}
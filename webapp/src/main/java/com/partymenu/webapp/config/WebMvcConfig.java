@@ -0,0 +1,23 @@
+package com.partymenu.webapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final CatalogConditionalRequestInterceptor catalogConditionalRequestInterceptor;
+
+    public WebMvcConfig(CatalogConditionalRequestInterceptor catalogConditionalRequestInterceptor) {
+        this.catalogConditionalRequestInterceptor = catalogConditionalRequestInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Menu pages rendered purely from the catalog snapshot
+        registry.addInterceptor(catalogConditionalRequestInterceptor)
+                .addPathPatterns("/menu", "/menu/{menuTypeId}", "/menu/category/*", "/menu/item/*", "/menu/popular")
+                .excludePathPatterns("/menu/search");
+    }
+}
@@ -12,8 +12,12 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.CategoryRow;
+import com.partymenu.webapp.admin.KeysetPage;
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuType;
 import com.partymenu.webapp.service.CategoryService;
@@ -35,9 +39,21 @@ public class AdminCategoryController {
     }
 
     @GetMapping
-    public String listCategories(Model model) {
-        List<Category> categories = categoryService.getAllCategories();
-        model.addAttribute("categories", categories);
+    public String listCategories(@RequestParam(required = false) Long menuTypeId,
+                                 @RequestParam(required = false) Boolean active,
+                                 @RequestParam(required = false) String sort,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(required = false) Integer size,
+                                 Model model) {
+        AdminSort adminSort = AdminSort.parse(sort);
+        KeysetPage<CategoryRow> page = categoryService.getCategoryPage(menuTypeId, active, adminSort, cursor, size);
+        model.addAttribute("page", page);
+        model.addAttribute("categories", page.getItems());
+        model.addAttribute("menuTypes", menuTypeService.getAllMenuTypes());
+        model.addAttribute("menuTypeId", menuTypeId);
+        model.addAttribute("active", active);
+        model.addAttribute("sort", adminSort.name());
+        model.addAttribute("size", KeysetPage.size(size));
         model.addAttribute("pageTitle", "Manage Categories");
         return "admin/categories/list";
     }
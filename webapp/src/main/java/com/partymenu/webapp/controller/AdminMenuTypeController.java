@@ -1,6 +1,5 @@
 package com.partymenu.webapp.controller;
 
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Controller;
@@ -11,8 +10,12 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuTypeRow;
 import com.partymenu.webapp.entity.MenuType;
 import com.partymenu.webapp.service.MenuTypeService;
 
@@ -29,12 +32,21 @@ public class AdminMenuTypeController {
     }
 
     /**
-     * Display list of all menu types
+     * Display one page of menu types, optionally filtered by active status
      */
     @GetMapping
-    public String listMenuTypes(Model model) {
-        List<MenuType> menuTypes = menuTypeService.getAllMenuTypes();
-        model.addAttribute("menuTypes", menuTypes);
+    public String listMenuTypes(@RequestParam(required = false) Boolean active,
+                                @RequestParam(required = false) String sort,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size,
+                                Model model) {
+        AdminSort adminSort = AdminSort.parse(sort);
+        KeysetPage<MenuTypeRow> page = menuTypeService.getMenuTypePage(active, adminSort, cursor, size);
+        model.addAttribute("page", page);
+        model.addAttribute("menuTypes", page.getItems());
+        model.addAttribute("active", active);
+        model.addAttribute("sort", adminSort.name());
+        model.addAttribute("size", KeysetPage.size(size));
         model.addAttribute("pageTitle", "Manage Menu Types");
         return "admin/menu-types/list";
     }
@@ -183,8 +195,7 @@ public class AdminMenuTypeController {
         model.addAttribute("pageTitle", "View Menu Type: " + menuType.getName());
 
         // Add categories count
-        int categoriesCount = menuType.getCategories() != null ? menuType.getCategories().size() : 0;
-        model.addAttribute("categoriesCount", categoriesCount);
+        model.addAttribute("categoriesCount", menuTypeService.getCategoryCount(id));
 
         return "admin/menu-types/view";
     }
@@ -1,6 +1,5 @@
  package com.partymenu.webapp.controller;
 
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.security.core.Authentication;
@@ -13,9 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.partymenu.webapp.entity.CartItem;
 import com.partymenu.webapp.entity.User;
+import com.partymenu.webapp.service.AuthenticatedUser;
 import com.partymenu.webapp.service.CartService;
+import com.partymenu.webapp.service.CartSnapshot;
 import com.partymenu.webapp.service.UserService;
 
 
@@ -75,19 +75,25 @@ public class AuthController {
             return "redirect:/";
         }
 
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+        Object user;
+        Long userId;
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            user = principal;
+            userId = principal.getId();
+        } else {
+            User entity = userService.findByEmail(authentication.getName()).orElseThrow();
+            user = entity;
+            userId = entity.getId();
+        }
 
         // Get cart statistics
-        int totalItems = cartService.getTotalItems(user.getId());
-        double totalAmount = cartService.getTotalAmount(user.getId()).doubleValue();
-        List<CartItem> cartItems = cartService.getCartItemsByUserId(user.getId());
+        CartSnapshot cart = cartService.getCart(userId);
 
         model.addAttribute("user", user);
         model.addAttribute("cartStats", Map.of(
-            "totalItems", totalItems,
-            "totalAmount", totalAmount,
-            "cartItems", cartItems
+            "totalItems", cart.getTotalItems(),
+            "totalAmount", cart.getTotalAmount().doubleValue(),
+            "cartItems", cart.getItems()
         ));
         model.addAttribute("pageTitle", "Profile - Party Menu");
         return "profile";
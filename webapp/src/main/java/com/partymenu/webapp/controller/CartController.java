@@ -1,10 +1,9 @@
 package com.partymenu.webapp.controller;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,10 +13,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.partymenu.webapp.entity.CartItem;
+import com.partymenu.webapp.service.AuthenticatedUser;
+import com.partymenu.webapp.service.CartKey;
 import com.partymenu.webapp.service.CartService;
+import com.partymenu.webapp.service.CartSnapshot;
+import com.partymenu.webapp.service.CartStreamService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -34,15 +38,21 @@ public class CartController {
 
     private final CartService cartService;
     private final UserService userService;
+    private final CartStreamService cartStreamService;
 
-    public CartController(CartService cartService, UserService userService) {
+    public CartController(CartService cartService, UserService userService, CartStreamService cartStreamService) {
         this.cartService = cartService;
         this.userService = userService;
+        this.cartStreamService = cartStreamService;
     }
 
     private Object getCurrentUserOrSessionId(HttpSession session) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
         if (authentication != null && authentication.isAuthenticated() && !authentication.getPrincipal().equals("anonymousUser")) {
+            // Sessions authenticated before the principal carried the id
             String email = authentication.getName();
             User user = userService.findByEmail(email).orElse(null);
             if (user != null) {
@@ -52,35 +62,22 @@ public class CartController {
         return session.getId();
     }
 
-    @GetMapping
-    public String viewCart(HttpSession session, Model model) {
-        Object userOrSession = getCurrentUserOrSessionId(session);
-        List<CartItem> cartItems;
-        Integer totalItems;
-        BigDecimal totalAmount;
-        String formattedTotalAmount;
-        boolean isEmpty;
-
+    private CartSnapshot getCart(Object userOrSession) {
         if (userOrSession instanceof Long userId) {
-            cartItems = cartService.getCartItemsByUserId(userId);
-            totalItems = cartService.getTotalItems(userId);
-            totalAmount = cartService.getTotalAmount(userId);
-            formattedTotalAmount = cartService.getFormattedTotalAmount(userId);
-            isEmpty = cartService.isCartEmpty(userId);
-        } else {
-            String sessionId = (String) userOrSession;
-            cartItems = cartService.getCartItems(sessionId);
-            totalItems = cartService.getTotalItems(sessionId);
-            totalAmount = cartService.getTotalAmount(sessionId);
-            formattedTotalAmount = cartService.getFormattedTotalAmount(sessionId);
-            isEmpty = cartService.isCartEmpty(sessionId);
+            return cartService.getCart(userId);
         }
+        return cartService.getCart((String) userOrSession);
+    }
+
+    @GetMapping
+    public String viewCart(HttpSession session, Model model) {
+        CartSnapshot cart = getCart(getCurrentUserOrSessionId(session));
 
-        model.addAttribute("cartItems", cartItems);
-        model.addAttribute("totalItems", totalItems);
-        model.addAttribute("totalAmount", totalAmount);
-        model.addAttribute("formattedTotalAmount", formattedTotalAmount);
-        model.addAttribute("isEmpty", isEmpty);
+        model.addAttribute("cartItems", cart.getItems());
+        model.addAttribute("totalItems", cart.getTotalItems());
+        model.addAttribute("totalAmount", cart.getTotalAmount());
+        model.addAttribute("formattedTotalAmount", cart.getFormattedTotalAmount());
+        model.addAttribute("isEmpty", cart.isEmpty());
         model.addAttribute("pageTitle", "Shopping Cart");
 
         return "cart/cart";
@@ -132,15 +129,11 @@ public class CartController {
                 cartItem = cartService.addToCart((String) userOrSession, menuItemId, quantity);
             }
 
+            CartSnapshot cart = getCart(userOrSession);
             response.put("success", true);
             response.put("message", "'" + cartItem.getMenuItem().getName() + "' added to cart!");
-            if (userOrSession instanceof Long long1) {
-                response.put("totalItems", cartService.getTotalItems(long1));
-                response.put("totalAmount", cartService.getFormattedTotalAmount(long1));
-            } else {
-                response.put("totalItems", cartService.getTotalItems((String) userOrSession));
-                response.put("totalAmount", cartService.getFormattedTotalAmount((String) userOrSession));
-            }
+            response.put("totalItems", cart.getTotalItems());
+            response.put("totalAmount", cart.getFormattedTotalAmount());
 
         } catch (Exception e) {
             response.put("success", false);
@@ -198,6 +191,7 @@ public class CartController {
                 updatedItem = cartService.updateCartItemQuantity((String) userOrSession, cartItemId, quantity);
             }
 
+            CartSnapshot cart = getCart(userOrSession);
             response.put("success", true);
             if (updatedItem != null) {
                 response.put("message", "Quantity updated successfully!");
@@ -205,13 +199,8 @@ public class CartController {
             } else {
                 response.put("message", "Item removed from cart!");
             }
-            if (userOrSession instanceof Long long1) {
-                response.put("totalItems", cartService.getTotalItems(long1));
-                response.put("totalAmount", cartService.getFormattedTotalAmount(long1));
-            } else {
-                response.put("totalItems", cartService.getTotalItems((String) userOrSession));
-                response.put("totalAmount", cartService.getFormattedTotalAmount((String) userOrSession));
-            }
+            response.put("totalItems", cart.getTotalItems());
+            response.put("totalAmount", cart.getFormattedTotalAmount());
 
         } catch (Exception e) {
             response.put("success", false);
@@ -278,4 +267,15 @@ public class CartController {
         }
         return ResponseEntity.ok(totalItems);
     }
-}
\ No newline at end of file
+
+    // Live cart totals; an event is pushed whenever the cart changes
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamCart(HttpSession session) {
+        Object userOrSession = getCurrentUserOrSessionId(session);
+        CartKey key = userOrSession instanceof Long userId
+                ? CartKey.user(userId)
+                : CartKey.session((String) userOrSession);
+        return cartStreamService.subscribe(key);
+    }
+}
@@ -1,70 +1,45 @@
 package com.partymenu.webapp.controller;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import com.partymenu.webapp.entity.MenuItem;
-import com.partymenu.webapp.entity.MenuType;
-import com.partymenu.webapp.entity.User;
-import com.partymenu.webapp.service.MenuItemService;
-import com.partymenu.webapp.service.MenuTypeService;
-import com.partymenu.webapp.service.UserService;
+import com.partymenu.webapp.catalog.ItemCard;
+import com.partymenu.webapp.service.CatalogFragmentService;
+import com.partymenu.webapp.service.CatalogService;
+import com.partymenu.webapp.service.PopularItemService;
 
 @Controller
 public class HomeController {
 
-    private final MenuTypeService menuTypeService;
-    private final MenuItemService menuItemService;
-    private final UserService userService;
+    private final CatalogService catalogService;
+    private final PopularItemService popularItemService;
+    private final CatalogFragmentService catalogFragmentService;
 
     @Autowired
-    public HomeController(MenuTypeService menuTypeService, MenuItemService menuItemService, UserService userService) {
-        this.menuTypeService = menuTypeService;
-        this.menuItemService = menuItemService;
-        this.userService = userService;
+    public HomeController(CatalogService catalogService, PopularItemService popularItemService,
+                          CatalogFragmentService catalogFragmentService) {
+        this.catalogService = catalogService;
+        this.popularItemService = popularItemService;
+        this.catalogFragmentService = catalogFragmentService;
     }
 
     @GetMapping("/")
     public String home(Model model) {
-        // Get active menu types for navigation
-        List<MenuType> menuTypes = menuTypeService.getAllActiveMenuTypes();
-        if (menuTypes == null) {
-            menuTypes = new ArrayList<>();
-        }
-        model.addAttribute("menuTypes", menuTypes);
+        // Menu types, login state and cart badge come from LayoutModelAdvice
+        model.addAttribute("menuTypeCards", catalogFragmentService.getMenuTypeCards());
 
         // Get popular menu items for homepage display
-        List<MenuItem> popularItems = menuItemService.getRandomPopularItems(6);
-        if (popularItems == null) {
-            popularItems = new ArrayList<>();
-        }
+        List<ItemCard> popularItems = popularItemService.getRandomPopularItems(6);
         model.addAttribute("popularItems", popularItems);
 
         // Get some statistics
-        long menuTypeCount = menuTypeService.getActiveMenuTypeCount();
-        model.addAttribute("menuTypeCount", menuTypeCount);
+        model.addAttribute("menuTypeCount", catalogService.getSnapshot().getMenuTypeCount());
         model.addAttribute("pageTitle", "Welcome to Party Menu");
 
-        // Add authentication status
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAuthenticated = authentication != null && authentication.isAuthenticated() && !authentication.getPrincipal().equals("anonymousUser");
-        model.addAttribute("isAuthenticated", isAuthenticated);
-        if (isAuthenticated) {
-            model.addAttribute("username", authentication.getName());
-            // Get user details to display name instead of email
-            User user = userService.findByEmail(authentication.getName()).orElse(null);
-            if (user != null) {
-                model.addAttribute("user", user);
-            }
-        }
-
         return "home";
     }
 
@@ -0,0 +1,104 @@
+package com.partymenu.webapp.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.thymeleaf.context.LazyContextVariable;
+
+import com.partymenu.webapp.service.AuthenticatedUser;
+import com.partymenu.webapp.service.CartBadgeService;
+import com.partymenu.webapp.service.CartKey;
+import com.partymenu.webapp.service.CatalogService;
+import com.partymenu.webapp.service.UserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Model attributes read by the shared layout, added for every page:
+ * <ul>
+ *   <li>{@code menuTypes}: active menu types from the catalog snapshot</li>
+ *   <li>{@code isAuthenticated}: whether the visitor is logged in</li>
+ *   <li>{@code userDisplayName}: the logged-in user's name</li>
+ *   <li>{@code cartItemCount}: items in the visitor's cart, for the header badge</li>
+ * </ul>
+ * Each one is a lazy Thymeleaf variable, resolved at most once and only if the template
+ * reads it. A controller that adds an attribute of the same name replaces it.
+ */
+@ControllerAdvice(annotations = Controller.class)
+public class LayoutModelAdvice {
+
+    private final CatalogService catalogService;
+    private final CartBadgeService cartBadgeService;
+    private final UserService userService;
+
+    public LayoutModelAdvice(CatalogService catalogService, CartBadgeService cartBadgeService,
+                             UserService userService) {
+        this.catalogService = catalogService;
+        this.cartBadgeService = cartBadgeService;
+        this.userService = userService;
+    }
+
+    @ModelAttribute
+    public void addLayoutAttributes(Model model, HttpServletRequest request) {
+        LazyContextVariable<Viewer> viewer = lazy(this::currentViewer);
+        model.addAttribute("menuTypes", lazy(() -> catalogService.getSnapshot().getMenuTypes()));
+        model.addAttribute("isAuthenticated", lazy(() -> viewer.getValue().authenticated));
+        model.addAttribute("userDisplayName", lazy(() -> viewer.getValue().displayName));
+        model.addAttribute("cartItemCount", lazy(() -> cartItemCount(viewer.getValue(), request)));
+    }
+
+    // The principal carries id and name; only sessions from before it did need a user lookup
+    private Viewer currentViewer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Viewer.ANONYMOUS;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return new Viewer(true, principal.getName(), principal.getId());
+        }
+        return userService.findByEmail(authentication.getName())
+                .map(user -> new Viewer(true, user.getName(), user.getId()))
+                .orElse(new Viewer(true, authentication.getName(), null));
+    }
+
+    private int cartItemCount(Viewer viewer, HttpServletRequest request) {
+        if (viewer.userId != null) {
+            return cartBadgeService.getTotalItems(CartKey.user(viewer.userId));
+        }
+        // Without a session there is no session cart yet
+        HttpSession session = request.getSession(false);
+        return session != null ? cartBadgeService.getTotalItems(CartKey.session(session.getId())) : 0;
+    }
+
+    private static <T> LazyContextVariable<T> lazy(Supplier<T> loader) {
+        return new LazyContextVariable<>() {
+            @Override
+            protected T loadValue() {
+                return loader.get();
+            }
+        };
+    }
+
+    private static final class Viewer {
+
+        static final Viewer ANONYMOUS = new Viewer(false, null, null);
+
+        final boolean authenticated;
+        final String displayName;
+        final Long userId;
+
+        Viewer(boolean authenticated, String displayName, Long userId) {
+            this.authenticated = authenticated;
+            this.displayName = displayName;
+            this.userId = userId;
+        }
+    }
+}
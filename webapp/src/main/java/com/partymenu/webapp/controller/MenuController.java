@@ -1,38 +1,57 @@
 package com.partymenu.webapp.controller;
 
-import com.partymenu.webapp.entity.Category;
-import com.partymenu.webapp.entity.MenuItem;
-import com.partymenu.webapp.entity.MenuType;
-import com.partymenu.webapp.service.CategoryService;
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.catalog.CategoryView;
+import com.partymenu.webapp.catalog.FacetQuery;
+import com.partymenu.webapp.catalog.FacetResult;
+import com.partymenu.webapp.catalog.ItemCard;
+import com.partymenu.webapp.catalog.MenuTypeView;
+import com.partymenu.webapp.catalog.PrepTimeBucket;
+import com.partymenu.webapp.catalog.Suggestion;
+import com.partymenu.webapp.service.CatalogFragmentService;
+import com.partymenu.webapp.service.CatalogService;
+import com.partymenu.webapp.service.MenuBrowseService;
 import com.partymenu.webapp.service.MenuItemService;
-import com.partymenu.webapp.service.MenuTypeService;
+import com.partymenu.webapp.service.SuggestionService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Controller
 @RequestMapping("/menu")
 public class MenuController {
     
-    private final MenuTypeService menuTypeService;
-    private final CategoryService categoryService;
+    private final CatalogService catalogService;
     private final MenuItemService menuItemService;
+    private final SuggestionService suggestionService;
+    private final MenuBrowseService menuBrowseService;
+    private final CatalogFragmentService catalogFragmentService;
     
-    public MenuController(MenuTypeService menuTypeService, CategoryService categoryService, MenuItemService menuItemService) {
-        this.menuTypeService = menuTypeService;
-        this.categoryService = categoryService;
+    public MenuController(CatalogService catalogService, MenuItemService menuItemService,
+                          SuggestionService suggestionService, MenuBrowseService menuBrowseService,
+                          CatalogFragmentService catalogFragmentService) {
+        this.catalogService = catalogService;
         this.menuItemService = menuItemService;
+        this.suggestionService = suggestionService;
+        this.menuBrowseService = menuBrowseService;
+        this.catalogFragmentService = catalogFragmentService;
     }
     
     @GetMapping
     public String menuHome(Model model) {
-        List<MenuType> menuTypes = menuTypeService.getAllActiveMenuTypes();
+        List<MenuTypeView> menuTypes = catalogService.getSnapshot().getMenuTypes();
         model.addAttribute("menuTypes", menuTypes);
         model.addAttribute("pageTitle", "Our Party Menus");
         return "menu/menu-list";
@@ -40,16 +59,17 @@ public class MenuController {
     
     @GetMapping("/{menuTypeId}")
     public String viewMenuByType(@PathVariable Long menuTypeId, Model model) {
-        Optional<MenuType> menuTypeOpt = menuTypeService.getMenuTypeById(menuTypeId);
+        Optional<MenuTypeView> menuTypeOpt = catalogService.getSnapshot().findMenuType(menuTypeId);
         if (menuTypeOpt.isEmpty()) {
             return "redirect:/menu";
         }
         
-        MenuType menuType = menuTypeOpt.get();
-        List<Category> categories = categoryService.getCategoriesWithMenuItemsByMenuType(menuTypeId);
+        MenuTypeView menuType = menuTypeOpt.get();
         
         model.addAttribute("menuType", menuType);
-        model.addAttribute("categories", categories);
+        model.addAttribute("categories", menuType.getCategories());
+        // Pre-rendered sections; the page only adds each form's CSRF field
+        model.addAttribute("categorySections", catalogFragmentService.getCategorySections(menuTypeId));
         model.addAttribute("pageTitle", menuType.getName() + " Menu");
         
         return "menu/menu-detail";
@@ -57,16 +77,15 @@ public class MenuController {
     
     @GetMapping("/category/{categoryId}")
     public String viewMenuByCategory(@PathVariable Long categoryId, Model model) {
-        Optional<Category> categoryOpt = categoryService.getCategoryById(categoryId);
+        Optional<CategoryView> categoryOpt = catalogService.getSnapshot().findCategory(categoryId);
         if (categoryOpt.isEmpty()) {
             return "redirect:/menu";
         }
         
-        Category category = categoryOpt.get();
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByCategory(category);
+        CategoryView category = categoryOpt.get();
         
         model.addAttribute("category", category);
-        model.addAttribute("menuItems", menuItems);
+        model.addAttribute("menuItems", category.getAvailableItems());
         model.addAttribute("pageTitle", category.getName() + " - " + category.getMenuType().getName());
         
         return "menu/category-items";
@@ -74,12 +93,12 @@ public class MenuController {
     
     @GetMapping("/item/{itemId}")
     public String viewMenuItem(@PathVariable Long itemId, Model model) {
-        Optional<MenuItem> menuItemOpt = menuItemService.getMenuItemById(itemId);
+        Optional<ItemCard> menuItemOpt = catalogService.getSnapshot().findItem(itemId);
         if (menuItemOpt.isEmpty()) {
             return "redirect:/menu";
         }
         
-        MenuItem menuItem = menuItemOpt.get();
+        ItemCard menuItem = menuItemOpt.get();
         model.addAttribute("menuItem", menuItem);
         model.addAttribute("pageTitle", menuItem.getName());
         
@@ -88,13 +107,14 @@ public class MenuController {
     
     @GetMapping("/search")
     public String searchMenu(@RequestParam(value = "keyword", required = false) String keyword, Model model) {
-        List<MenuItem> searchResults;
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        List<ItemCard> searchResults;
         
         if (keyword != null && !keyword.trim().isEmpty()) {
-            searchResults = menuItemService.searchMenuItems(keyword);
+            searchResults = snapshot.findAvailableItems(menuItemService.searchMenuItems(keyword));
             model.addAttribute("keyword", keyword);
         } else {
-            searchResults = menuItemService.getAllAvailableMenuItems();
+            searchResults = snapshot.getAvailableItems();
         }
         
         model.addAttribute("menuItems", searchResults);
@@ -103,12 +123,61 @@ public class MenuController {
         return "menu/search-results";
     }
     
+    @GetMapping("/search/suggest")
+    @ResponseBody
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam(value = "q", required = false) String query,
+                                                    @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(suggestionService.suggest(query, limit));
+    }
+    
+    // Faceted browse: repeat menuTypeId, categoryId or prepTime to select several values
+    @GetMapping("/browse")
+    @ResponseBody
+    public ResponseEntity<FacetResult> browse(@RequestParam(value = "menuTypeId", required = false) List<Long> menuTypeIds,
+                                              @RequestParam(value = "categoryId", required = false) List<Long> categoryIds,
+                                              @RequestParam(value = "prepTime", required = false) List<String> prepTimes,
+                                              @RequestParam(value = "popular", required = false) Boolean popular,
+                                              @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+                                              @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+                                              @RequestParam(value = "sort", required = false) String sort,
+                                              @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                              @RequestParam(value = "limit", defaultValue = "24") int limit) {
+        Set<PrepTimeBucket> buckets = EnumSet.noneOf(PrepTimeBucket.class);
+        if (prepTimes != null) {
+            for (String prepTime : prepTimes) {
+                PrepTimeBucket bucket = PrepTimeBucket.parse(prepTime);
+                if (bucket != null) {
+                    buckets.add(bucket);
+                }
+            }
+        }
+        FacetQuery query = new FacetQuery(idSet(menuTypeIds), idSet(categoryIds), buckets, popular,
+                minPrice, maxPrice, FacetQuery.Sort.parse(sort), offset, limit);
+        return ResponseEntity.ok(menuBrowseService.browse(query));
+    }
+    
     @GetMapping("/popular")
     public String popularItems(Model model) {
-        List<MenuItem> popularItems = menuItemService.getPopularMenuItems();
+        List<ItemCard> popularItems = catalogService.getSnapshot().getPopularItems();
         model.addAttribute("menuItems", popularItems);
         model.addAttribute("pageTitle", "Popular Items");
         
         return "menu/popular-items";
     }
+    
+    // Distinct ids from a repeated request parameter, ignoring blank values
+    private static Set<Long> idSet(List<Long> ids) {
+        Set<Long> set = new HashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    set.add(id);
+                }
+            }
+        }
+        return set;
+    }
 }
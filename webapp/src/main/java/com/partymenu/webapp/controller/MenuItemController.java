@@ -1,17 +1,31 @@
 package com.partymenu.webapp.controller;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.ImportResult;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuItemRow;
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuItem;
 import com.partymenu.webapp.service.CategoryService;
 import com.partymenu.webapp.service.MenuItemService;
+import com.partymenu.webapp.service.MenuItemTransferService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,17 +35,35 @@ public class MenuItemController {
     
     private final MenuItemService menuItemService;
     private final CategoryService categoryService;
+    private final MenuItemTransferService menuItemTransferService;
     
     @Autowired
-    public MenuItemController(MenuItemService menuItemService, CategoryService categoryService) {
+    public MenuItemController(MenuItemService menuItemService, CategoryService categoryService,
+                              MenuItemTransferService menuItemTransferService) {
         this.menuItemService = menuItemService;
         this.categoryService = categoryService;
+        this.menuItemTransferService = menuItemTransferService;
     }
     
     @GetMapping
-    public String listMenuItems(Model model) {
-        List<MenuItem> menuItems = menuItemService.getAllMenuItems();
-        model.addAttribute("menuItems", menuItems);
+    public String listMenuItems(@RequestParam(required = false) Long categoryId,
+                                @RequestParam(required = false) Boolean available,
+                                @RequestParam(required = false) Boolean popular,
+                                @RequestParam(required = false) String sort,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer size,
+                                Model model) {
+        AdminSort adminSort = AdminSort.parse(sort);
+        KeysetPage<MenuItemRow> page = menuItemService.getMenuItemPage(categoryId, available, popular,
+                adminSort, cursor, size);
+        model.addAttribute("page", page);
+        model.addAttribute("menuItems", page.getItems());
+        model.addAttribute("categories", categoryService.getAllActiveCategories());
+        model.addAttribute("categoryId", categoryId);
+        model.addAttribute("available", available);
+        model.addAttribute("popular", popular);
+        model.addAttribute("sort", adminSort.name());
+        model.addAttribute("size", KeysetPage.size(size));
         model.addAttribute("pageTitle", "Manage Menu Items");
         return "admin/menu-items/list";
     }
@@ -140,4 +172,89 @@ public class MenuItemController {
         
         return "redirect:/admin/menu-items";
     }
+    
+    @PostMapping("/import")
+    public String importMenuItems(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please choose a CSV or JSON file to import.");
+            return "redirect:/admin/menu-items";
+        }
+        String filename = file.getOriginalFilename();
+        boolean json = (filename != null && filename.toLowerCase().endsWith(".json"))
+                || MediaType.APPLICATION_JSON_VALUE.equals(file.getContentType());
+        try (InputStream input = file.getInputStream()) {
+            ImportResult result = menuItemTransferService.importMenuItems(input, json);
+            String message = "Imported " + result.getImported() + " menu item(s)";
+            if (result.getSkipped() > 0) {
+                message += ", skipped " + result.getSkipped() + ": " + String.join("; ", result.getErrors());
+            }
+            redirectAttributes.addFlashAttribute(result.getImported() > 0 ? "successMessage" : "errorMessage",
+                message + ".");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage",
+                "Error importing menu items: " + e.getMessage());
+        }
+        
+        return "redirect:/admin/menu-items";
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMenuItems(@RequestParam(defaultValue = "csv") String format) {
+        boolean json = "json".equalsIgnoreCase(format);
+        StreamingResponseBody body = json ? menuItemTransferService::exportJson : menuItemTransferService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(json ? "menu-items.json" : "menu-items.csv").build().toString())
+                .body(body);
+    }
+    
+    @PostMapping("/bulk")
+    public String bulkUpdate(@RequestParam(required = false) List<Long> ids,
+                             @RequestParam String action,
+                             @RequestParam(required = false) BigDecimal percent,
+                             @RequestParam(required = false) Long targetCategoryId,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated;
+            String change;
+            switch (action) {
+                case "available" -> {
+                    updated = menuItemService.setAvailability(ids, true);
+                    change = "marked available";
+                }
+                case "unavailable" -> {
+                    updated = menuItemService.setAvailability(ids, false);
+                    change = "marked unavailable";
+                }
+                case "popular" -> {
+                    updated = menuItemService.setPopular(ids, true);
+                    change = "marked popular";
+                }
+                case "regular" -> {
+                    updated = menuItemService.setPopular(ids, false);
+                    change = "marked regular";
+                }
+                case "price" -> {
+                    updated = menuItemService.adjustPrices(ids, percent);
+                    change = "repriced by " + percent.stripTrailingZeros().toPlainString() + "%";
+                }
+                case "move" -> {
+                    if (targetCategoryId == null) {
+                        throw new IllegalArgumentException("Choose a category to move the items to");
+                    }
+                    updated = menuItemService.moveToCategory(ids, targetCategoryId);
+                    change = "moved";
+                }
+                default -> throw new IllegalArgumentException("Unknown bulk action: " + action);
+            }
+            redirectAttributes.addFlashAttribute("successMessage",
+                updated + " menu item(s) " + change + ".");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage",
+                "Error updating menu items: " + e.getMessage());
+        }
+        
+        return "redirect:/admin/menu-items";
+    }
 }
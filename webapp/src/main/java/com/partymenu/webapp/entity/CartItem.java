@@ -13,9 +13,13 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import com.partymenu.webapp.pricing.Money;
+
 @Entity
 @Table(name = "cart_items")
 public class CartItem {
@@ -52,6 +56,18 @@ public class CartItem {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped by every quantity change, including the increments of CartItemUpsertRepository
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Unit price in cents, converted again only when unitPrice is replaced
+    @Transient
+    private BigDecimal centsSource;
+
+    @Transient
+    private long unitPriceCents;
+
     // Constructors
     public CartItem() {
         this.createdAt = LocalDateTime.now();
@@ -64,7 +80,7 @@ public class CartItem {
         this.menuItem = menuItem;
         this.quantity = quantity;
         this.unitPrice = menuItem.getPrice();
-        this.totalPrice = unitPrice.multiply(new BigDecimal(quantity));
+        this.totalPrice = Money.toBigDecimal(getTotalPriceCents());
     }
 
     public CartItem(Long userId, MenuItem menuItem, Integer quantity) {
@@ -74,13 +90,29 @@ public class CartItem {
         this.menuItem = menuItem;
         this.quantity = quantity;
         this.unitPrice = menuItem.getPrice();
-        this.totalPrice = unitPrice.multiply(new BigDecimal(quantity));
+        this.totalPrice = Money.toBigDecimal(getTotalPriceCents());
+    }
+
+    // A stored line read back over JDBC: keeps its stored prices, so a lazy menuItem stays uninitialized
+    public CartItem(Long id, String sessionId, Long userId, MenuItem menuItem, Integer quantity,
+                    BigDecimal unitPrice, BigDecimal totalPrice, LocalDateTime createdAt,
+                    LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.menuItem = menuItem;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
-        this.totalPrice = this.unitPrice.multiply(new BigDecimal(quantity));
+        this.totalPrice = Money.toBigDecimal(getTotalPriceCents());
     }
 
     // Getters and Setters
@@ -116,7 +148,7 @@ public class CartItem {
         this.menuItem = menuItem;
         if (menuItem != null) {
             this.unitPrice = menuItem.getPrice();
-            this.totalPrice = this.unitPrice.multiply(quantity != null ? BigDecimal.valueOf(quantity) : BigDecimal.ONE);
+            this.totalPrice = Money.toBigDecimal(unitPriceCents() * (quantity != null ? quantity : 1));
         }
     }
 
@@ -127,7 +159,7 @@ public class CartItem {
     public void setQuantity(Integer quantity) {
         this.quantity = quantity;
         if (quantity != null && unitPrice != null) {
-            this.totalPrice = this.unitPrice.multiply(new BigDecimal(quantity));
+            this.totalPrice = Money.toBigDecimal(getTotalPriceCents());
         }
     }
 
@@ -138,7 +170,7 @@ public class CartItem {
     public void setUnitPrice(BigDecimal unitPrice) {
         this.unitPrice = unitPrice;
         if (unitPrice != null && quantity != null) {
-            this.totalPrice = unitPrice.multiply(new BigDecimal(quantity));
+            this.totalPrice = Money.toBigDecimal(getTotalPriceCents());
         }
     }
 
@@ -166,12 +198,37 @@ public class CartItem {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Utility methods
+    public long getUnitPriceCents() {
+        return unitPriceCents();
+    }
+
+    // A line without a quantity yet has no total
+    public long getTotalPriceCents() {
+        return quantity != null ? unitPriceCents() * quantity : 0L;
+    }
+
     public String getFormattedUnitPrice() {
-        return "$%.2f".formatted(unitPrice);
+        return unitPrice != null ? Money.format(unitPriceCents()) : null;
     }
 
     public String getFormattedTotalPrice() {
-        return "$%.2f".formatted(totalPrice);
+        return unitPrice != null && quantity != null ? Money.format(getTotalPriceCents()) : null;
+    }
+
+    private long unitPriceCents() {
+        if (unitPrice != centsSource) {
+            unitPriceCents = Money.toCents(unitPrice);
+            centsSource = unitPrice;
+        }
+        return unitPriceCents;
     }
 }
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.partymenu.webapp.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import com.partymenu.webapp.pricing.Money;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.menuItems")
 @Table(name = "menu_items")
 public class MenuItem {
     
@@ -164,7 +168,7 @@ public class MenuItem {
     
     // Utility methods
     public String getFormattedPrice() {
-        return "$%.2f".formatted(price);
+        return price != null ? Money.format(Money.toCents(price)) : null;
     }
     
     public String getPreparationTimeText() {
@@ -3,10 +3,13 @@ package com.partymenu.webapp.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.menuTypes")
 @Table(name = "menu_types")
 public class MenuType {
     
@@ -33,6 +36,7 @@ public class MenuType {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "menuType", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.menuType.categories")
     private List<Category> categories;
     
     // Constructors
@@ -0,0 +1,39 @@
+package com.partymenu.webapp.metrics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts every SQL statement the application prepares, in total and for the request
+ * running on the current thread. The counting itself happens in the
+ * {@link StatementCountingDataSource} that {@link MetricsConfig} wraps around the pool,
+ * so statements issued through {@code JdbcTemplate} are included.
+ */
+@Component
+public class SqlStatementCounter {
+
+    private final StatementCountingDataSource dataSource;
+
+    public SqlStatementCounter(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        this.dataSource = dataSource.unwrap(StatementCountingDataSource.class);
+        FunctionCounter.builder("partymenu.sql.statements", this.dataSource, StatementCountingDataSource::getStatements)
+                .description("SQL statements prepared through the data source")
+                .register(meterRegistry);
+    }
+
+    // Start counting for the current thread
+    void begin() {
+        dataSource.begin();
+    }
+
+    // Stop counting for the current thread and return the statements seen since begin()
+    int end() {
+        return dataSource.end();
+    }
+}
@@ -0,0 +1,78 @@
+package com.partymenu.webapp.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts every statement prepared or created on a connection from the wrapped data
+ * source, in total and for the work running on the current thread. Counting at the
+ * connection sees Hibernate and {@code JdbcTemplate} alike. A JDBC batch is prepared
+ * once, so it counts as one statement however many rows it carries.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final LongAdder statements = new LongAdder();
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (STATEMENT_FACTORIES.contains(method.getName())) {
+                        count();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void count() {
+        statements.increment();
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    // Start counting for the current thread
+    void begin() {
+        current.set(new int[1]);
+    }
+
+    // Stop counting for the current thread and return the statements seen since begin()
+    int end() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+}
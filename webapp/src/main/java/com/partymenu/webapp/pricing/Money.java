@@ -0,0 +1,122 @@
+package com.partymenu.webapp.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as whole cents in a {@code long}.
+ * <p>
+ * Prices are stored as NUMERIC(10,2) and exposed as {@link BigDecimal} at the edges;
+ * inside the cart and the catalog read model they are converted once to cents so
+ * totals are plain integer arithmetic. {@link #format(long)} renders {@code $12.50}
+ * without a {@link java.util.Formatter}, and returns a shared, cached string for
+ * every amount under {@code $1000.00}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int CACHED_LABELS = 100_000;
+    // Filled on first use; a lost race only means the same label is built twice
+    private static final String[] LABELS = new String[CACHED_LABELS];
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    // Rounds half up to whole cents; NUMERIC(10,2) values convert exactly
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Same text as "$%.2f".formatted(amount), e.g. $12.50 or $-3.00
+    public static String format(long cents) {
+        if (cents >= 0 && cents < CACHED_LABELS) {
+            String label = LABELS[(int) cents];
+            if (label == null) {
+                label = render(cents);
+                LABELS[(int) cents] = label;
+            }
+            return label;
+        }
+        return render(cents);
+    }
+
+    private static String render(long cents) {
+        boolean negative = cents < 0;
+        long value = negative ? -cents : cents;
+        char[] chars = new char[24];
+        int pos = chars.length;
+        chars[--pos] = (char) ('0' + value % 10);
+        value /= 10;
+        chars[--pos] = (char) ('0' + value % 10);
+        value /= 10;
+        chars[--pos] = '.';
+        do {
+            chars[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (negative) {
+            chars[--pos] = '-';
+        }
+        chars[--pos] = '$';
+        return new String(chars, pos, chars.length - pos);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(cents);
+    }
+
+    public String format() {
+        return format(cents);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
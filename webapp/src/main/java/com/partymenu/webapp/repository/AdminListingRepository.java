@@ -0,0 +1,164 @@
+package com.partymenu.webapp.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Repository;
+
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.CategoryRow;
+import com.partymenu.webapp.admin.InvalidCursorException;
+import com.partymenu.webapp.admin.KeysetCursor;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuItemRow;
+import com.partymenu.webapp.admin.MenuTypeRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Keyset-paginated admin listings. Each page is one joined projection query that
+ * seeks past the previous page's last row instead of counting an OFFSET, so deep
+ * pages cost the same as the first. Filters are appended only when set, so every
+ * combination gets its own plan.
+ */
+@Repository
+public class AdminListingRepository {
+
+    private static final String MENU_ITEM_SELECT =
+            "SELECT new com.partymenu.webapp.admin.MenuItemRow(mi.id, mi.name, mi.description, mi.price, " +
+            "c.id, c.name, mt.name, mi.isAvailable, mi.isPopular, mi.createdAt) " +
+            "FROM MenuItem mi JOIN mi.category c JOIN c.menuType mt";
+
+    private static final String CATEGORY_SELECT =
+            "SELECT new com.partymenu.webapp.admin.CategoryRow(c.id, c.name, c.description, mt.id, mt.name, " +
+            "c.displayOrder, c.isActive, c.createdAt, (SELECT COUNT(mi) FROM MenuItem mi WHERE mi.category = c)) " +
+            "FROM Category c JOIN c.menuType mt";
+
+    private static final String MENU_TYPE_SELECT =
+            "SELECT new com.partymenu.webapp.admin.MenuTypeRow(mt.id, mt.name, mt.description, mt.isActive, " +
+            "mt.createdAt, (SELECT COUNT(c) FROM Category c WHERE c.menuType = mt)) " +
+            "FROM MenuType mt";
+
+    private final EntityManager entityManager;
+
+    public AdminListingRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Menu items filtered by category, availability and popularity; null filters are ignored
+    public KeysetPage<MenuItemRow> findMenuItems(Long categoryId, Boolean available, Boolean popular,
+                                                 AdminSort sort, KeysetCursor after, int size) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (categoryId != null) {
+            where.add("c.id = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        if (available != null) {
+            where.add("mi.isAvailable = :available");
+            params.put("available", available);
+        }
+        if (popular != null) {
+            where.add("mi.isPopular = :popular");
+            params.put("popular", popular);
+        }
+        Function<MenuItemRow, Object> sortValue = sort == AdminSort.PRICE ? MenuItemRow::getPrice : MenuItemRow::getName;
+        return page(MENU_ITEM_SELECT, "mi", where, params, sort, after, size, MenuItemRow.class,
+                MenuItemRow::getId, sortValue);
+    }
+
+    // Categories filtered by menu type and active flag; null filters are ignored
+    public KeysetPage<CategoryRow> findCategories(Long menuTypeId, Boolean active, AdminSort sort,
+                                                  KeysetCursor after, int size) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (menuTypeId != null) {
+            where.add("mt.id = :menuTypeId");
+            params.put("menuTypeId", menuTypeId);
+        }
+        if (active != null) {
+            where.add("c.isActive = :active");
+            params.put("active", active);
+        }
+        return page(CATEGORY_SELECT, "c", where, params, withoutPrice(sort), after, size, CategoryRow.class,
+                CategoryRow::getId, CategoryRow::getName);
+    }
+
+    // Menu types filtered by active flag; a null filter is ignored
+    public KeysetPage<MenuTypeRow> findMenuTypes(Boolean active, AdminSort sort, KeysetCursor after, int size) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (active != null) {
+            where.add("mt.isActive = :active");
+            params.put("active", active);
+        }
+        return page(MENU_TYPE_SELECT, "mt", where, params, withoutPrice(sort), after, size, MenuTypeRow.class,
+                MenuTypeRow::getId, MenuTypeRow::getName);
+    }
+
+    private <T> KeysetPage<T> page(String select, String alias, List<String> where, Map<String, Object> params,
+                                   AdminSort sort, KeysetCursor after, int size, Class<T> rowType,
+                                   Function<T, Long> idOf, Function<T, Object> sortValueOf) {
+        String id = alias + ".id";
+        String column = alias + (sort == AdminSort.PRICE ? ".price" : ".name");
+
+        if (after != null) {
+            if (after.getSort() != sort) {
+                throw new InvalidCursorException(after.encode(), null);
+            }
+            if (sort == AdminSort.NEWEST) {
+                where.add(id + " < :afterId");
+                params.put("afterId", after.getId());
+            } else {
+                where.add("(" + column + " > :afterValue OR (" + column + " = :afterValue AND " + id + " > :afterId))");
+                params.put("afterValue", sortValue(sort, after));
+                params.put("afterId", after.getId());
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder(select);
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        jpql.append(sort == AdminSort.NEWEST
+                ? " ORDER BY " + id + " DESC"
+                : " ORDER BY " + column + " ASC, " + id + " ASC");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), rowType);
+        params.forEach(query::setParameter);
+        // One extra row tells whether another page follows
+        List<T> rows = query.setMaxResults(size + 1).getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            T last = rows.get(size - 1);
+            Object lastValue = sort == AdminSort.NEWEST ? null : sortValueOf.apply(last);
+            String encoded = lastValue instanceof BigDecimal price ? price.toPlainString()
+                    : lastValue != null ? lastValue.toString() : "";
+            nextCursor = new KeysetCursor(sort, encoded, idOf.apply(last)).encode();
+        }
+        return new KeysetPage<>(rows, nextCursor);
+    }
+
+    // Only a tampered price cursor fails to parse; it is rejected like any malformed cursor
+    private static Object sortValue(AdminSort sort, KeysetCursor after) {
+        if (sort != AdminSort.PRICE) {
+            return after.getSortValue();
+        }
+        try {
+            return new BigDecimal(after.getSortValue());
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(after.encode(), e);
+        }
+    }
+
+    private static AdminSort withoutPrice(AdminSort sort) {
+        return sort == AdminSort.PRICE ? AdminSort.NAME : sort;
+    }
+}
@@ -1,7 +1,6 @@
 package com.partymenu.webapp.repository;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -14,28 +13,31 @@ import com.partymenu.webapp.entity.CartItem;
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
-    List<CartItem> findBySessionIdOrderByCreatedAtDesc(String sessionId);
+    // Session cart queries filter on user_id IS NULL, matching the partial unique index of V3
+    List<CartItem> findBySessionIdAndUserIdIsNullOrderByCreatedAtDesc(String sessionId);
 
-    Optional<CartItem> findBySessionIdAndMenuItemId(String sessionId, Long menuItemId);
+    // Session cart with menu items and their categories in one query
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.menuItem mi JOIN FETCH mi.category " +
+           "WHERE ci.sessionId = :sessionId AND ci.userId IS NULL ORDER BY ci.createdAt DESC")
+    List<CartItem> findSessionCartWithMenuItems(@Param("sessionId") String sessionId);
 
-    @Query("SELECT SUM(ci.quantity) FROM CartItem ci WHERE ci.sessionId = :sessionId")
+    @Query("SELECT SUM(ci.quantity) FROM CartItem ci WHERE ci.sessionId = :sessionId AND ci.userId IS NULL")
     Integer getTotalItemsBySession(@Param("sessionId") String sessionId);
 
-    @Query("SELECT SUM(ci.totalPrice) FROM CartItem ci WHERE ci.sessionId = :sessionId")
+    @Query("SELECT SUM(ci.totalPrice) FROM CartItem ci WHERE ci.sessionId = :sessionId AND ci.userId IS NULL")
     java.math.BigDecimal getTotalAmountBySession(@Param("sessionId") String sessionId);
 
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.sessionId = :sessionId")
+    @Query("DELETE FROM CartItem ci WHERE ci.sessionId = :sessionId AND ci.userId IS NULL")
     void deleteBySessionId(@Param("sessionId") String sessionId);
 
-    @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.createdAt < :cutoffDate")
-    void deleteOldCartItems(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
-
     // User-based queries
     List<CartItem> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    Optional<CartItem> findByUserIdAndMenuItemId(Long userId, Long menuItemId);
+    // User cart with menu items and their categories in one query
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.menuItem mi JOIN FETCH mi.category " +
+           "WHERE ci.userId = :userId ORDER BY ci.createdAt DESC")
+    List<CartItem> findUserCartWithMenuItems(@Param("userId") Long userId);
 
     @Query("SELECT SUM(ci.quantity) FROM CartItem ci WHERE ci.userId = :userId")
     Integer getTotalItemsByUser(@Param("userId") Long userId);
@@ -46,9 +48,4 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.userId = :userId")
     void deleteByUserId(@Param("userId") Long userId);
-
-    // Migrate session cart to user cart
-    @Modifying
-    @Query("UPDATE CartItem ci SET ci.userId = :userId, ci.sessionId = '' WHERE ci.sessionId = :sessionId")
-    void migrateSessionCartToUser(@Param("sessionId") String sessionId, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.partymenu.webapp.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.partymenu.webapp.entity.CartItem;
+import com.partymenu.webapp.entity.MenuItem;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Cart line writes that must not read first. On PostgreSQL each one is a single
+ * {@code INSERT ... ON CONFLICT} against the unique (cart owner, menu item) indexes of
+ * {@code V3__unique_cart_lines.sql}: the line is created or its quantity incremented
+ * atomically, so concurrent adds of the same item neither insert a second line nor lose
+ * an increment. Other databases (H2 in the benchmarks) run the equivalent standard
+ * {@code MERGE} and read the line back. Their schema is built by Hibernate without those
+ * partial indexes, so there concurrent first adds of one item can still create two lines.
+ */
+@Repository
+public class CartItemUpsertRepository {
+
+    private static final String LINE_COLUMNS =
+            "id, session_id, user_id, menu_item_id, quantity, unit_price, total_price, created_at, updated_at, version";
+
+    // Parameters: session id, menu item id, quantity, unit price, total price, now, now
+    private static final String UPSERT_SESSION_LINE =
+            "INSERT INTO cart_items AS ci (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES (?, NULL, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON CONFLICT (session_id, menu_item_id) WHERE user_id IS NULL DO UPDATE SET " +
+            "quantity = ci.quantity + EXCLUDED.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + EXCLUDED.quantity), " +
+            "updated_at = EXCLUDED.updated_at, version = ci.version + 1 " +
+            "RETURNING " + LINE_COLUMNS;
+
+    // Parameters: user id, menu item id, quantity, unit price, total price, now, now
+    private static final String UPSERT_USER_LINE =
+            "INSERT INTO cart_items AS ci (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES ('', ?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON CONFLICT (user_id, menu_item_id) WHERE user_id IS NOT NULL DO UPDATE SET " +
+            "quantity = ci.quantity + EXCLUDED.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + EXCLUDED.quantity), " +
+            "updated_at = EXCLUDED.updated_at, version = ci.version + 1 " +
+            "RETURNING " + LINE_COLUMNS;
+
+    // Parameters: user id, now, session id
+    private static final String MERGE_SESSION_CART_INTO_USER_CART =
+            "INSERT INTO cart_items AS ci (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) " +
+            "SELECT '', ?, menu_item_id, quantity, unit_price, total_price, created_at, ?, 0 " +
+            "FROM cart_items WHERE session_id = ? AND user_id IS NULL " +
+            "ON CONFLICT (user_id, menu_item_id) WHERE user_id IS NOT NULL DO UPDATE SET " +
+            "quantity = ci.quantity + EXCLUDED.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + EXCLUDED.quantity), " +
+            "updated_at = EXCLUDED.updated_at, version = ci.version + 1";
+
+    // Standard SQL equivalents for databases without ON CONFLICT; same parameters as above
+
+    private static final String MERGE_SESSION_LINE =
+            "MERGE INTO cart_items ci USING (SELECT CAST(? AS VARCHAR(255)) AS session_id, " +
+            "CAST(? AS BIGINT) AS menu_item_id, CAST(? AS INTEGER) AS quantity, " +
+            "CAST(? AS NUMERIC(10, 2)) AS unit_price, CAST(? AS NUMERIC(10, 2)) AS total_price, " +
+            "CAST(? AS TIMESTAMP) AS created_at, CAST(? AS TIMESTAMP) AS updated_at) src " +
+            "ON ci.session_id = src.session_id AND ci.user_id IS NULL AND ci.menu_item_id = src.menu_item_id " +
+            "WHEN MATCHED THEN UPDATE SET quantity = ci.quantity + src.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + src.quantity), " +
+            "updated_at = src.updated_at, version = ci.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES (src.session_id, NULL, src.menu_item_id, src.quantity, " +
+            "src.unit_price, src.total_price, src.created_at, src.updated_at, 0)";
+
+    private static final String MERGE_USER_LINE =
+            "MERGE INTO cart_items ci USING (SELECT CAST(? AS BIGINT) AS user_id, " +
+            "CAST(? AS BIGINT) AS menu_item_id, CAST(? AS INTEGER) AS quantity, " +
+            "CAST(? AS NUMERIC(10, 2)) AS unit_price, CAST(? AS NUMERIC(10, 2)) AS total_price, " +
+            "CAST(? AS TIMESTAMP) AS created_at, CAST(? AS TIMESTAMP) AS updated_at) src " +
+            "ON ci.user_id = src.user_id AND ci.menu_item_id = src.menu_item_id " +
+            "WHEN MATCHED THEN UPDATE SET quantity = ci.quantity + src.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + src.quantity), " +
+            "updated_at = src.updated_at, version = ci.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES ('', src.user_id, src.menu_item_id, src.quantity, " +
+            "src.unit_price, src.total_price, src.created_at, src.updated_at, 0)";
+
+    private static final String MERGE_SESSION_CART_INTO_USER_CART_STANDARD =
+            "MERGE INTO cart_items ci USING (SELECT CAST(? AS BIGINT) AS user_id, menu_item_id, quantity, " +
+            "unit_price, total_price, created_at, CAST(? AS TIMESTAMP) AS updated_at " +
+            "FROM cart_items WHERE session_id = ? AND user_id IS NULL) src " +
+            "ON ci.user_id = src.user_id AND ci.menu_item_id = src.menu_item_id " +
+            "WHEN MATCHED THEN UPDATE SET quantity = ci.quantity + src.quantity, " +
+            "total_price = ci.unit_price * (ci.quantity + src.quantity), " +
+            "updated_at = src.updated_at, version = ci.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES ('', src.user_id, src.menu_item_id, src.quantity, " +
+            "src.unit_price, src.total_price, src.created_at, src.updated_at, 0)";
+
+    private static final String SELECT_SESSION_LINE =
+            "SELECT " + LINE_COLUMNS + " FROM cart_items WHERE session_id = ? AND user_id IS NULL AND menu_item_id = ?";
+    private static final String SELECT_USER_LINE =
+            "SELECT " + LINE_COLUMNS + " FROM cart_items WHERE user_id = ? AND menu_item_id = ?";
+
+    private static final String DELETE_SESSION_CART =
+            "DELETE FROM cart_items WHERE session_id = ? AND user_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final RowMapper<CartItem> lineMapper = this::mapLine;
+
+    // Resolved from the connection metadata on first use
+    private volatile Boolean postgreSql;
+
+    public CartItemUpsertRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // Add quantity to the session cart's line for the item, creating the line at unitPrice
+    public CartItem addToSessionCart(String sessionId, Long menuItemId, int quantity, BigDecimal unitPrice) {
+        Object[] args = lineArgs(sessionId, menuItemId, quantity, unitPrice);
+        if (isPostgreSql()) {
+            return jdbcTemplate.queryForObject(UPSERT_SESSION_LINE, lineMapper, args);
+        }
+        jdbcTemplate.update(MERGE_SESSION_LINE, args);
+        return jdbcTemplate.queryForObject(SELECT_SESSION_LINE, lineMapper, sessionId, menuItemId);
+    }
+
+    // Add quantity to the user cart's line for the item, creating the line at unitPrice
+    public CartItem addToUserCart(Long userId, Long menuItemId, int quantity, BigDecimal unitPrice) {
+        Object[] args = lineArgs(userId, menuItemId, quantity, unitPrice);
+        if (isPostgreSql()) {
+            return jdbcTemplate.queryForObject(UPSERT_USER_LINE, lineMapper, args);
+        }
+        jdbcTemplate.update(MERGE_USER_LINE, args);
+        return jdbcTemplate.queryForObject(SELECT_USER_LINE, lineMapper, userId, menuItemId);
+    }
+
+    // Move a session cart into a user cart, adding quantities where both hold the same item
+    public void mergeSessionCartIntoUserCart(String sessionId, Long userId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(isPostgreSql() ? MERGE_SESSION_CART_INTO_USER_CART : MERGE_SESSION_CART_INTO_USER_CART_STANDARD,
+                userId, now, sessionId);
+        jdbcTemplate.update(DELETE_SESSION_CART, sessionId);
+    }
+
+    private static Object[] lineArgs(Object owner, Long menuItemId, int quantity, BigDecimal unitPrice) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new Object[] { owner, menuItemId, quantity, unitPrice,
+                unitPrice.multiply(BigDecimal.valueOf(quantity)), now, now };
+    }
+
+    // Detached line; the menu item is an uninitialized reference, so mapping issues no query
+    private CartItem mapLine(ResultSet rs, int rowNum) throws SQLException {
+        return new CartItem(
+                rs.getLong("id"),
+                rs.getString("session_id"),
+                rs.getObject("user_id", Long.class),
+                entityManager.getReference(MenuItem.class, rs.getLong("menu_item_id")),
+                rs.getInt("quantity"),
+                rs.getBigDecimal("unit_price"),
+                rs.getBigDecimal("total_price"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime(),
+                rs.getLong("version"));
+    }
+
+    // Asks the transaction's own connection; borrowing a second one could wait on a full pool
+    private boolean isPostgreSql() {
+        Boolean result = postgreSql;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgreSql = result;
+        }
+        return result;
+    }
+}
@@ -2,9 +2,11 @@ package com.partymenu.webapp.repository;
 
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,32 +16,31 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     // Find categories by menu type
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByMenuTypeAndIsActiveTrueOrderByDisplayOrderAsc(MenuType menuType);
     
     // Find categories by menu type ID
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByMenuType_IdAndIsActiveTrueOrderByDisplayOrderAsc(Long menuTypeId);
     
     // Find active categories
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByIsActiveTrueOrderByDisplayOrderAsc();
     
     // Find category by name and menu type
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByNameIgnoreCaseAndMenuType(String name, MenuType menuType);
     
     // Check if category exists
     boolean existsByNameIgnoreCaseAndMenuType(String name, MenuType menuType);
     
-    // Custom query to find categories with menu items
-    @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.menuItems mi " +
-           "WHERE c.menuType.id = :menuTypeId AND c.isActive = true " +
-           "ORDER BY c.displayOrder, c.name")
-    List<Category> findCategoriesWithMenuItemsByMenuType(@Param("menuTypeId") Long menuTypeId);
-    
     // Find categories with available menu items
     @Query("SELECT DISTINCT c FROM Category c JOIN c.menuItems mi " +
            "WHERE c.isActive = true AND mi.isAvailable = true " +
            "ORDER BY c.displayOrder")
     List<Category> findCategoriesWithAvailableMenuItems();
     
-    // Count categories by menu type
-    long countByMenuTypeAndIsActiveTrue(MenuType menuType);
+    // Id, menu type id and active flag of every category, for rebuilding the catalog aggregates
+    @Query("SELECT c.id, c.menuType.id, c.isActive FROM Category c")
+    List<Object[]> findAggregateRows();
 }
@@ -2,33 +2,50 @@ package com.partymenu.webapp.repository;
 
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
+    // Find a menu item with its category initialized, for use outside a persistence context
+    @Query("SELECT mi FROM MenuItem mi JOIN FETCH mi.category WHERE mi.id = :id")
+    Optional<MenuItem> findWithCategoryById(@Param("id") Long id);
+    
     // Find menu items by category
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByCategoryAndIsAvailableTrueOrderByNameAsc(Category category);
     
     // Find menu items by category ID
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByCategory_IdAndIsAvailableTrueOrderByNameAsc(Long categoryId);
     
     // Find popular menu items
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByIsPopularTrueAndIsAvailableTrueOrderByNameAsc();
     
     // Find available menu items
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByIsAvailableTrueOrderByNameAsc();
     
     // Search menu items by name
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByNameContainingIgnoreCaseAndIsAvailableTrueOrderByNameAsc(String name);
     
     // Find menu items by price range
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByPriceBetweenAndIsAvailableTrueOrderByPriceAsc(BigDecimal minPrice, BigDecimal maxPrice);
     
     // Find menu items by menu type through category
@@ -37,27 +54,35 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
            "ORDER BY c.displayOrder, mi.name")
     List<MenuItem> findAvailableMenuItemsByMenuType(@Param("menuTypeId") Long menuTypeId);
     
-    // Search across all fields
-    @Query("SELECT mi FROM MenuItem mi WHERE mi.isAvailable = true AND " +
-           "(LOWER(mi.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(mi.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "ORDER BY mi.name")
-    List<MenuItem> searchMenuItems(@Param("keyword") String keyword);
-    
-    // Find random popular items for homepage
-    @Query(value = "SELECT * FROM menu_items WHERE is_popular = true AND is_available = true " +
-                   "ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<MenuItem> findRandomPopularItems(@Param("limit") int limit);
-    
-    // Count menu items by category
-    long countByCategoryAndIsAvailableTrue(Category category);
-    
     // Find cheapest items in category
     @Query("SELECT mi FROM MenuItem mi WHERE mi.category = :category AND mi.isAvailable = true " +
            "ORDER BY mi.price ASC")
     List<MenuItem> findCheapestItemsInCategory(@Param("category") Category category);
     
-    // Get price statistics
-    @Query("SELECT MIN(mi.price), MAX(mi.price), AVG(mi.price) FROM MenuItem mi WHERE mi.isAvailable = true")
-    Object[] getPriceStatistics();
+    // Id, category id, price and availability of every item, for rebuilding the catalog aggregates
+    @Query("SELECT mi.id, mi.category.id, mi.price, mi.isAvailable FROM MenuItem mi")
+    List<Object[]> findAggregateRows();
+    
+    // Bulk admin updates; each is a single UPDATE over the given ids
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.isAvailable = :available, mi.updatedAt = :now WHERE mi.id IN :ids")
+    int updateAvailability(@Param("ids") Collection<Long> ids, @Param("available") boolean available,
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.isPopular = :popular, mi.updatedAt = :now WHERE mi.id IN :ids")
+    int updatePopular(@Param("ids") Collection<Long> ids, @Param("popular") boolean popular,
+                      @Param("now") LocalDateTime now);
+    
+    // The percentage binds with the price column's scale, so it carries at most two decimals
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.price = ROUND(mi.price + mi.price * :percent / 100, 2), mi.updatedAt = :now " +
+           "WHERE mi.id IN :ids")
+    int adjustPrice(@Param("ids") Collection<Long> ids, @Param("percent") BigDecimal percent,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.category = :category, mi.updatedAt = :now WHERE mi.id IN :ids")
+    int updateCategory(@Param("ids") Collection<Long> ids, @Param("category") Category category,
+                       @Param("now") LocalDateTime now);
 }
@@ -1,8 +1,12 @@
 package com.partymenu.webapp.repository;
 
+import com.partymenu.webapp.catalog.CatalogRow;
 import com.partymenu.webapp.entity.MenuType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,9 +16,11 @@ import java.util.Optional;
 public interface MenuTypeRepository extends JpaRepository<MenuType, Long> {
     
     // Find active menu types
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuType> findByIsActiveTrueOrderByNameAsc();
     
     // Find menu type by name
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<MenuType> findByNameIgnoreCase(String name);
     
     // Check if menu type exists by name
@@ -24,6 +30,15 @@ public interface MenuTypeRepository extends JpaRepository<MenuType, Long> {
     @Query("SELECT DISTINCT mt FROM MenuType mt LEFT JOIN FETCH mt.categories c WHERE mt.isActive = true ORDER BY mt.name")
     List<MenuType> findActiveMenuTypesWithCategories();
     
+    // Flattened active catalog for the snapshot: one row per item, or per empty category / menu type
+    @Query("SELECT new com.partymenu.webapp.catalog.CatalogRow(" +
+           "mt.id, mt.name, mt.description, c.id, c.name, c.description, c.displayOrder, " +
+           "mi.id, mi.name, mi.description, mi.price, mi.imageUrl, mi.isPopular, mi.isAvailable, mi.preparationTime) " +
+           "FROM MenuType mt LEFT JOIN mt.categories c ON c.isActive = true LEFT JOIN c.menuItems mi " +
+           "WHERE mt.isActive = true")
+    List<CatalogRow> findActiveCatalogRows();
+    
     // Count active menu types
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     long countByIsActiveTrue();
 }
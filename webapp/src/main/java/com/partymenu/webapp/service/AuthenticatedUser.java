@@ -0,0 +1,52 @@
+package com.partymenu.webapp.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Security principal for a logged-in customer. Besides the credentials it carries the
+ * user's id and profile fields as they were at login, so request handling can identify
+ * the user without looking the email up in the {@code users} table again.
+ */
+public class AuthenticatedUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String displayName;
+    private final String phone;
+    private final LocalDateTime createdAt;
+
+    public AuthenticatedUser(com.partymenu.webapp.entity.User user, Collection<? extends GrantedAuthority> authorities) {
+        super(user.getEmail(), user.getPassword(), Boolean.TRUE.equals(user.getEnabled()),
+                true, true, true, authorities);
+        this.id = user.getId();
+        this.displayName = user.getName();
+        this.phone = user.getPhone();
+        this.createdAt = user.getCreatedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // Same property names as the User entity so templates can render either
+    public String getName() {
+        return displayName;
+    }
+
+    public String getEmail() {
+        return getUsername();
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
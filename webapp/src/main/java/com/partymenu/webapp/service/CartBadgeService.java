@@ -0,0 +1,51 @@
+package com.partymenu.webapp.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Item counts for the cart badge in the page header, cached per cart so that rendering a
+ * page does not query the cart again. An entry is dropped as soon as a change to its cart
+ * commits, session cart entries are all dropped when the expiry job deletes carts, and
+ * otherwise an entry expires after {@code partymenu.cart.badge.ttl-ms}.
+ */
+@Service
+public class CartBadgeService {
+
+    private final CartService cartService;
+    private final Cache<CartKey, Integer> counts;
+
+    public CartBadgeService(CartService cartService,
+                            @Value("${partymenu.cart.badge.max-size:100000}") long maxSize,
+                            @Value("${partymenu.cart.badge.ttl-ms:1800000}") long ttlMs) {
+        this.cartService = cartService;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    // Get the number of items in a cart, from the cache when possible
+    public int getTotalItems(CartKey key) {
+        return counts.get(key, k -> k.isUser()
+                ? cartService.getTotalItems(k.getUserId())
+                : cartService.getTotalItems(k.getSessionId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        counts.invalidate(event.getCartKey());
+    }
+
+    @EventListener
+    public void onSessionCartsExpired(SessionCartsExpiredEvent event) {
+        counts.asMap().keySet().removeIf(key -> !key.isUser());
+    }
+}
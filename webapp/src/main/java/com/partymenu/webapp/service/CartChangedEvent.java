@@ -0,0 +1,17 @@
+package com.partymenu.webapp.service;
+
+/**
+ * Published by {@link CartService} after any change to the contents of a cart.
+ */
+public final class CartChangedEvent {
+
+    private final CartKey cartKey;
+
+    public CartChangedEvent(CartKey cartKey) {
+        this.cartKey = cartKey;
+    }
+
+    public CartKey getCartKey() {
+        return cartKey;
+    }
+}
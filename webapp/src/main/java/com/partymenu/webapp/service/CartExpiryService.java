@@ -0,0 +1,129 @@
+package com.partymenu.webapp.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Removes abandoned session carts in small chunks.
+ * <p>
+ * A session cart is abandoned once none of its lines has changed for {@code idle-ms};
+ * user carts are never expired. Each chunk deletes at most {@code batch-size} rows in its
+ * own short statement, oldest first, and the job pauses {@code pause-ms} between chunks so
+ * locks stay brief and autovacuum can keep up. The partial session-cart indexes on
+ * {@code updated_at} and {@code (session_id, updated_at)} keep each chunk an index range scan.
+ */
+@Service
+public class CartExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartExpiryService.class);
+
+    private static final String DELETE_IDLE_CHUNK =
+            "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM cart_items ci WHERE ci.user_id IS NULL AND ci.updated_at < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM cart_items recent WHERE recent.session_id = ci.session_id " +
+            "AND recent.user_id IS NULL AND recent.updated_at >= ?) " +
+            "ORDER BY ci.updated_at LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration idleAfter;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final Counter purgedRows;
+    private final DistributionSummary rowsPerRun;
+    private final Timer runTimer;
+
+    public CartExpiryService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${partymenu.cart.expiry.enabled:true}") boolean enabled,
+                             @Value("${partymenu.cart.expiry.idle-ms:86400000}") long idleMs,
+                             @Value("${partymenu.cart.expiry.batch-size:1000}") int batchSize,
+                             @Value("${partymenu.cart.expiry.pause-ms:200}") long pauseMs) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("partymenu.cart.expiry.batch-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.idleAfter = Duration.ofMillis(idleMs);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.purgedRows = Counter.builder("partymenu.cart.expiry.purged")
+                .description("Abandoned session cart lines deleted")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("partymenu.cart.expiry.run.rows")
+                .description("Abandoned session cart lines deleted per expiry run")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("partymenu.cart.expiry.run")
+                .description("Duration of an expiry run, pauses included")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${partymenu.cart.expiry.interval-ms:900000}",
+               fixedDelayString = "${partymenu.cart.expiry.interval-ms:900000}")
+    public void expireIdleSessionCarts() {
+        if (enabled) {
+            purgeIdleSessionCarts(idleAfter);
+        }
+    }
+
+    // Delete session carts idle for longer than idleFor, chunk by chunk; returns the rows deleted
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long purgeIdleSessionCarts(Duration idleFor) {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(idleFor));
+        long started = System.nanoTime();
+        long purged = 0;
+        int chunks = 0;
+        while (true) {
+            int deleted = jdbcTemplate.update(DELETE_IDLE_CHUNK, cutoff, cutoff, batchSize);
+            purged += deleted;
+            purgedRows.increment(deleted);
+            chunks++;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        runTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        rowsPerRun.record(purged);
+        if (purged > 0) {
+            log.info("Expired {} abandoned session cart lines in {} chunks", purged, chunks);
+            // Each chunk has committed; cached counts of the emptied carts are now stale
+            eventPublisher.publishEvent(new SessionCartsExpiredEvent(purged));
+        }
+        return purged;
+    }
+
+    // False when interrupted, so a shutdown does not wait for the remaining chunks
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.partymenu.webapp.service;
+
+import java.util.Objects;
+
+/**
+ * Identifies one cart: either an anonymous session cart or a logged-in user's cart.
+ */
+public final class CartKey {
+
+    private final String sessionId;
+    private final Long userId;
+
+    private CartKey(String sessionId, Long userId) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+    }
+
+    public static CartKey session(String sessionId) {
+        return new CartKey(Objects.requireNonNull(sessionId), null);
+    }
+
+    public static CartKey user(Long userId) {
+        return new CartKey(null, Objects.requireNonNull(userId));
+    }
+
+    public boolean isUser() {
+        return userId != null;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartKey other)) {
+            return false;
+        }
+        return Objects.equals(sessionId, other.sessionId) && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sessionId, userId);
+    }
+
+    @Override
+    public String toString() {
+        return isUser() ? "user:" + userId : "session:" + sessionId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.partymenu.webapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the cart a visitor filled before logging in into their user cart. The session id
+ * is the one recorded in the login request's authentication details, taken before
+ * Spring Security changes the session id on login.
+ */
+@Component
+public class CartLoginListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CartLoginListener.class);
+
+    private final CartService cartService;
+
+    public CartLoginListener(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        Authentication authentication = event.getAuthentication();
+        if (!(authentication.getDetails() instanceof WebAuthenticationDetails details)
+                || details.getSessionId() == null
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return;
+        }
+        // A cart that cannot be merged must not turn a valid login into an error
+        try {
+            cartService.migrateSessionCartToUser(details.getSessionId(), user.getId());
+        } catch (RuntimeException e) {
+            log.warn("Could not merge the session cart into the cart of user {}", user.getId(), e);
+        }
+    }
+}
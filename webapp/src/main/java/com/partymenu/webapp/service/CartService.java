@@ -1,16 +1,21 @@
 package com.partymenu.webapp.service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.partymenu.webapp.entity.CartItem;
-import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.pricing.Money;
 import com.partymenu.webapp.repository.CartItemRepository;
+import com.partymenu.webapp.repository.CartItemUpsertRepository;
 import com.partymenu.webapp.repository.MenuItemRepository;
 
 @Service
@@ -18,46 +23,73 @@ import com.partymenu.webapp.repository.MenuItemRepository;
 public class CartService {
 
     private final CartItemRepository cartItemRepository;
+    private final CartItemUpsertRepository cartItemUpsertRepository;
     private final MenuItemRepository menuItemRepository;
-
-    public CartService(CartItemRepository cartItemRepository, MenuItemRepository menuItemRepository) {
+    private final CatalogService catalogService;
+    // Present only when the write-behind cart mode is enabled
+    private final WriteBehindCartStore cartStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CartExpiryService cartExpiryService;
+
+    public CartService(CartItemRepository cartItemRepository, CartItemUpsertRepository cartItemUpsertRepository,
+                       MenuItemRepository menuItemRepository,
+                       CatalogService catalogService, ObjectProvider<WriteBehindCartStore> cartStore,
+                       ApplicationEventPublisher eventPublisher, CartExpiryService cartExpiryService) {
         this.cartItemRepository = cartItemRepository;
+        this.cartItemUpsertRepository = cartItemUpsertRepository;
         this.menuItemRepository = menuItemRepository;
+        this.catalogService = catalogService;
+        this.cartStore = cartStore.getIfAvailable();
+        this.eventPublisher = eventPublisher;
+        this.cartExpiryService = cartExpiryService;
+    }
+
+    // Cart lines, totals and emptiness for a session cart from one query
+    @Transactional(readOnly = true)
+    public CartSnapshot getCart(String sessionId) {
+        if (cartStore != null) {
+            return new CartSnapshot(cartStore.getItems(CartKey.session(sessionId)));
+        }
+        return new CartSnapshot(cartItemRepository.findSessionCartWithMenuItems(sessionId));
+    }
+
+    // Cart lines, totals and emptiness for a user cart from one query
+    @Transactional(readOnly = true)
+    public CartSnapshot getCart(Long userId) {
+        if (cartStore != null) {
+            return new CartSnapshot(cartStore.getItems(CartKey.user(userId)));
+        }
+        return new CartSnapshot(cartItemRepository.findUserCartWithMenuItems(userId));
     }
 
     public List<CartItem> getCartItems(String sessionId) {
-        return cartItemRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
+        if (cartStore != null) {
+            return cartStore.getItems(CartKey.session(sessionId));
+        }
+        return cartItemRepository.findBySessionIdAndUserIdIsNullOrderByCreatedAtDesc(sessionId);
     }
 
     public List<CartItem> getCartItemsByUserId(Long userId) {
+        if (cartStore != null) {
+            return cartStore.getItems(CartKey.user(userId));
+        }
         return cartItemRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
     public CartItem addToCart(String sessionId, Long menuItemId, Integer quantity) {
-        Optional<MenuItem> menuItemOpt = menuItemRepository.findById(menuItemId);
-        if (menuItemOpt.isEmpty() || !menuItemOpt.get().getIsAvailable()) {
-            throw new RuntimeException("Menu item not found or not available");
-        }
-
-        MenuItem menuItem = menuItemOpt.get();
-
-        // Check if item already exists in cart
-        Optional<CartItem> existingCartItemOpt = cartItemRepository.findBySessionIdAndMenuItemId(sessionId, menuItemId);
-
-        if (existingCartItemOpt.isPresent()) {
-            // Update quantity of existing item
-            CartItem existingCartItem = existingCartItemOpt.get();
-            existingCartItem.setQuantity(existingCartItem.getQuantity() + quantity);
-            existingCartItem.preUpdate();
-            return cartItemRepository.save(existingCartItem);
-        } else {
-            // Add new item to cart
-            CartItem newCartItem = new CartItem(sessionId, menuItem, quantity);
-            return cartItemRepository.save(newCartItem);
+        publishChanged(CartKey.session(sessionId));
+        if (cartStore != null) {
+            return addToBufferedCart(CartKey.session(sessionId), menuItemId, quantity);
         }
+        BigDecimal unitPrice = availablePrice(menuItemId, quantity);
+        return cartItemUpsertRepository.addToSessionCart(sessionId, menuItemId, quantity, unitPrice);
     }
 
     public CartItem updateCartItemQuantity(String sessionId, Long cartItemId, Integer quantity) {
+        publishChanged(CartKey.session(sessionId));
+        if (cartStore != null) {
+            return cartStore.updateQuantity(CartKey.session(sessionId), cartItemId, quantity);
+        }
         Optional<CartItem> cartItemOpt = cartItemRepository.findById(cartItemId);
         if (cartItemOpt.isEmpty()) {
             throw new RuntimeException("Cart item not found");
@@ -74,11 +106,16 @@ public class CartService {
         } else {
             cartItem.setQuantity(quantity);
             cartItem.preUpdate();
-            return cartItemRepository.save(cartItem);
+            return saveQuantity(cartItem);
         }
     }
 
     public void removeFromCart(String sessionId, Long cartItemId) {
+        publishChanged(CartKey.session(sessionId));
+        if (cartStore != null) {
+            cartStore.remove(CartKey.session(sessionId), cartItemId);
+            return;
+        }
         Optional<CartItem> cartItemOpt = cartItemRepository.findById(cartItemId);
         if (cartItemOpt.isPresent()) {
             CartItem cartItem = cartItemOpt.get();
@@ -89,60 +126,59 @@ public class CartService {
     }
 
     public void clearCart(String sessionId) {
+        publishChanged(CartKey.session(sessionId));
+        if (cartStore != null) {
+            cartStore.clear(CartKey.session(sessionId));
+            return;
+        }
         cartItemRepository.deleteBySessionId(sessionId);
     }
 
     public Integer getTotalItems(String sessionId) {
+        if (cartStore != null) {
+            return cartStore.getTotalItems(CartKey.session(sessionId));
+        }
         Integer total = cartItemRepository.getTotalItemsBySession(sessionId);
         return total != null ? total : 0;
     }
 
     public BigDecimal getTotalAmount(String sessionId) {
+        if (cartStore != null) {
+            return cartStore.getTotalAmount(CartKey.session(sessionId));
+        }
         BigDecimal total = cartItemRepository.getTotalAmountBySession(sessionId);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     public String getFormattedTotalAmount(String sessionId) {
-        BigDecimal total = getTotalAmount(sessionId);
-        return String.format("$%.2f", total);
+        return Money.of(getTotalAmount(sessionId)).format();
     }
 
     public boolean isCartEmpty(String sessionId) {
         return getCartItems(sessionId).isEmpty();
     }
 
-    // Cleanup old cart items (can be called by a scheduled job)
-    public void cleanupOldCartItems(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        cartItemRepository.deleteOldCartItems(cutoffDate);
+    // Delete session carts untouched for daysOld days, in chunks; CartExpiryService also runs this on a schedule
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long cleanupOldCartItems(int daysOld) {
+        return cartExpiryService.purgeIdleSessionCarts(Duration.ofDays(daysOld));
     }
 
     // User-based cart methods
     public CartItem addToCart(Long userId, Long menuItemId, Integer quantity) {
-        Optional<MenuItem> menuItemOpt = menuItemRepository.findById(menuItemId);
-        if (menuItemOpt.isEmpty() || !menuItemOpt.get().getIsAvailable()) {
-            throw new RuntimeException("Menu item not found or not available");
-        }
-
-        MenuItem menuItem = menuItemOpt.get();
-
-        // Check if item already exists in cart
-        Optional<CartItem> existingCartItemOpt = cartItemRepository.findByUserIdAndMenuItemId(userId, menuItemId);
-
-        if (existingCartItemOpt.isPresent()) {
-            // Update quantity of existing item
-            CartItem existingCartItem = existingCartItemOpt.get();
-            existingCartItem.setQuantity(existingCartItem.getQuantity() + quantity);
-            existingCartItem.preUpdate();
-            return cartItemRepository.save(existingCartItem);
-        } else {
-            // Add new item to cart
-            CartItem newCartItem = new CartItem(userId, menuItem, quantity);
-            return cartItemRepository.save(newCartItem);
+        publishChanged(CartKey.user(userId));
+        if (cartStore != null) {
+            return addToBufferedCart(CartKey.user(userId), menuItemId, quantity);
         }
+        BigDecimal unitPrice = availablePrice(menuItemId, quantity);
+        return cartItemUpsertRepository.addToUserCart(userId, menuItemId, quantity, unitPrice);
     }
 
     public CartItem updateCartItemQuantity(Long userId, Long cartItemId, Integer quantity) {
+        publishChanged(CartKey.user(userId));
+        if (cartStore != null) {
+            return cartStore.updateQuantity(CartKey.user(userId), cartItemId, quantity);
+        }
         Optional<CartItem> cartItemOpt = cartItemRepository.findById(cartItemId);
         if (cartItemOpt.isEmpty()) {
             throw new RuntimeException("Cart item not found");
@@ -159,11 +195,16 @@ public class CartService {
         } else {
             cartItem.setQuantity(quantity);
             cartItem.preUpdate();
-            return cartItemRepository.save(cartItem);
+            return saveQuantity(cartItem);
         }
     }
 
     public void removeFromCart(Long userId, Long cartItemId) {
+        publishChanged(CartKey.user(userId));
+        if (cartStore != null) {
+            cartStore.remove(CartKey.user(userId), cartItemId);
+            return;
+        }
         Optional<CartItem> cartItemOpt = cartItemRepository.findById(cartItemId);
         if (cartItemOpt.isPresent()) {
             CartItem cartItem = cartItemOpt.get();
@@ -174,22 +215,32 @@ public class CartService {
     }
 
     public void clearCart(Long userId) {
+        publishChanged(CartKey.user(userId));
+        if (cartStore != null) {
+            cartStore.clear(CartKey.user(userId));
+            return;
+        }
         cartItemRepository.deleteByUserId(userId);
     }
 
     public Integer getTotalItems(Long userId) {
+        if (cartStore != null) {
+            return cartStore.getTotalItems(CartKey.user(userId));
+        }
         Integer total = cartItemRepository.getTotalItemsByUser(userId);
         return total != null ? total : 0;
     }
 
     public BigDecimal getTotalAmount(Long userId) {
+        if (cartStore != null) {
+            return cartStore.getTotalAmount(CartKey.user(userId));
+        }
         BigDecimal total = cartItemRepository.getTotalAmountByUser(userId);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     public String getFormattedTotalAmount(Long userId) {
-        BigDecimal total = getTotalAmount(userId);
-        return String.format("$%.2f", total);
+        return Money.of(getTotalAmount(userId)).format();
     }
 
     public boolean isCartEmpty(Long userId) {
@@ -197,6 +248,44 @@ public class CartService {
     }
 
     public void migrateSessionCartToUser(String sessionId, Long userId) {
-        cartItemRepository.migrateSessionCartToUser(sessionId, userId);
+        publishChanged(CartKey.session(sessionId));
+        publishChanged(CartKey.user(userId));
+        if (cartStore != null) {
+            cartStore.migrate(CartKey.session(sessionId), CartKey.user(userId));
+            return;
+        }
+        cartItemUpsertRepository.mergeSessionCartIntoUserCart(sessionId, userId);
+    }
+
+    // Delivered to listeners once the surrounding transaction commits
+    private void publishChanged(CartKey key) {
+        eventPublisher.publishEvent(new CartChangedEvent(key));
+    }
+
+    // Availability and price come from the catalog snapshot, so adding a line reads no menu item
+    private BigDecimal availablePrice(Long menuItemId, Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        return catalogService.getSnapshot().findItem(menuItemId)
+                .filter(item -> item.getIsAvailable())
+                .map(item -> item.getPrice())
+                .orElseThrow(() -> new RuntimeException("Menu item not found or not available"));
+    }
+
+    // Flush now so that an edit racing another one on the same line fails here, on its version
+    private CartItem saveQuantity(CartItem cartItem) {
+        try {
+            return cartItemRepository.saveAndFlush(cartItem);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new IllegalStateException("The cart item was changed by another request; please try again", e);
+        }
+    }
+
+    // Checked like a direct add before anything is buffered; the item is only loaded for a new line
+    private CartItem addToBufferedCart(CartKey key, Long menuItemId, Integer quantity) {
+        availablePrice(menuItemId, quantity);
+        return cartStore.add(key, menuItemId, quantity, id -> menuItemRepository.findWithCategoryById(id)
+                .orElseThrow(() -> new RuntimeException("Menu item not found or not available")));
     }
 }
@@ -0,0 +1,55 @@
+package com.partymenu.webapp.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import com.partymenu.webapp.entity.CartItem;
+import com.partymenu.webapp.pricing.Money;
+
+/**
+ * Everything a cart view needs, computed in memory from a single fetch of the cart
+ * lines (with their menu items and categories already initialized).
+ */
+public final class CartSnapshot {
+
+    private final List<CartItem> items;
+    private final int totalItems;
+    private final long totalCents;
+
+    CartSnapshot(List<CartItem> items) {
+        int count = 0;
+        long cents = 0;
+        for (CartItem item : items) {
+            count += item.getQuantity();
+            cents += item.getTotalPriceCents();
+        }
+        this.items = Collections.unmodifiableList(items);
+        this.totalItems = count;
+        this.totalCents = cents;
+    }
+
+    public List<CartItem> getItems() {
+        return items;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return Money.toBigDecimal(totalCents);
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    public String getFormattedTotalAmount() {
+        return Money.format(totalCents);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package com.partymenu.webapp.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Registry of open Server-Sent Event streams per cart. Every tab showing a cart badge
+ * holds one emitter; when the cart changes, the new count and total are pushed to all
+ * of that cart's emitters. Emitters run on async servlet requests, so idle
+ * subscribers do not hold a request thread.
+ */
+@Service
+public class CartStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartStreamService.class);
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+    private static final String EVENT_NAME = "cart";
+
+    private final CartService cartService;
+    private final Map<CartKey, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public CartStreamService(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    // Open a stream for the given cart, starting with its current totals
+    public SseEmitter subscribe(CartKey key) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(key, emitter));
+        emitter.onTimeout(() -> unsubscribe(key, emitter));
+        emitter.onError(error -> unsubscribe(key, emitter));
+
+        send(key, emitter, totalsOf(key));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Set<SseEmitter> emitters : subscribers.values()) {
+            count += emitters.size();
+        }
+        return count;
+    }
+
+    // Runs on the task executor: a request still holding its connection must not wait here for another
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        CartKey key = event.getCartKey();
+        Set<SseEmitter> emitters = subscribers.get(key);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        Map<String, Object> totals = totalsOf(key);
+        for (SseEmitter emitter : emitters) {
+            send(key, emitter, totals);
+        }
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal dead connections
+    @Scheduled(fixedRate = 25000)
+    public void sendHeartbeats() {
+        subscribers.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(key, emitter);
+                }
+            }
+        });
+    }
+
+    private Map<String, Object> totalsOf(CartKey key) {
+        CartSnapshot cart = key.isUser()
+                ? cartService.getCart(key.getUserId())
+                : cartService.getCart(key.getSessionId());
+        return Map.of(
+                "totalItems", cart.getTotalItems(),
+                "totalAmount", cart.getFormattedTotalAmount());
+    }
+
+    private void send(CartKey key, SseEmitter emitter, Map<String, Object> totals) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(totals, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping cart stream for {}: {}", key, e.getMessage());
+            unsubscribe(key, emitter);
+        }
+    }
+
+    private void unsubscribe(CartKey key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.partymenu.webapp.service;
+
+import java.math.BigDecimal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.partymenu.webapp.catalog.CatalogAggregates;
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.catalog.PriceStatistics;
+import com.partymenu.webapp.repository.CategoryRepository;
+import com.partymenu.webapp.repository.MenuItemRepository;
+
+/**
+ * Serves catalog counts and price statistics from {@link CatalogAggregates}. The
+ * aggregates are recomputed in full at startup, after bulk changes and on request;
+ * single item and category changes are applied incrementally once they commit.
+ */
+@Service
+public class CatalogAggregatesService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogAggregatesService.class);
+
+    private final MenuItemRepository menuItemRepository;
+    private final CategoryRepository categoryRepository;
+    private volatile CatalogAggregates aggregates;
+
+    public CatalogAggregatesService(MenuItemRepository menuItemRepository, CategoryRepository categoryRepository) {
+        this.menuItemRepository = menuItemRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    // Min, max and average price of available items
+    public PriceStatistics getPriceStatistics() {
+        return current().getPriceStatistics();
+    }
+
+    // Number of available items in a category
+    public long getAvailableItemCount(Long categoryId) {
+        return current().getAvailableItemCount(categoryId);
+    }
+
+    // Number of categories in a menu type, active or not
+    public long getCategoryCount(Long menuTypeId) {
+        return current().getCategoryCount(menuTypeId);
+    }
+
+    // Number of active categories in a menu type
+    public long getActiveCategoryCount(Long menuTypeId) {
+        return current().getActiveCategoryCount(menuTypeId);
+    }
+
+    // Rebuild every aggregate from the database
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void recompute() {
+        CatalogAggregates rebuilt = new CatalogAggregates();
+        for (Object[] row : categoryRepository.findAggregateRows()) {
+            rebuilt.putCategory((Long) row[0], (Long) row[1], Boolean.TRUE.equals(row[2]));
+        }
+        for (Object[] row : menuItemRepository.findAggregateRows()) {
+            rebuilt.putItem((Long) row[0], (Long) row[1], (BigDecimal) row[2], Boolean.TRUE.equals(row[3]));
+        }
+        aggregates = rebuilt;
+        log.info("Catalog aggregates recomputed: {}", rebuilt.getPriceStatistics());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogAggregates target = aggregates;
+        if (target == null) {
+            return;
+        }
+        // Bulk writes and menu type deletes (which cascade) touch rows we cannot name
+        if (event.isBulk() || (event.getKind() == CatalogChangedEvent.Kind.MENU_TYPE && event.isDeleted())) {
+            recompute();
+            return;
+        }
+        Long id = event.getEntityId();
+        switch (event.getKind()) {
+            case MENU_ITEM -> {
+                if (event.isDeleted()) {
+                    target.removeItem(id);
+                    return;
+                }
+                menuItemRepository.findById(id).ifPresentOrElse(
+                        menuItem -> target.putItem(id, menuItem.getCategory().getId(), menuItem.getPrice(),
+                                Boolean.TRUE.equals(menuItem.getIsAvailable())),
+                        () -> target.removeItem(id));
+            }
+            case CATEGORY -> {
+                if (event.isDeleted()) {
+                    target.removeCategory(id);
+                    return;
+                }
+                categoryRepository.findById(id).ifPresentOrElse(
+                        category -> target.putCategory(id, category.getMenuType().getId(),
+                                Boolean.TRUE.equals(category.getIsActive())),
+                        () -> target.removeCategory(id));
+            }
+            case MENU_TYPE -> {
+                // Menu type fields do not feed any aggregate
+            }
+        }
+    }
+
+    private CatalogAggregates current() {
+        CatalogAggregates current = aggregates;
+        if (current == null) {
+            recompute();
+            current = aggregates;
+        }
+        return current;
+    }
+}
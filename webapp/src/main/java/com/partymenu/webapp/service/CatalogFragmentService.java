@@ -0,0 +1,125 @@
+package com.partymenu.webapp.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.partymenu.webapp.catalog.CatalogRefreshedEvent;
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.catalog.MenuTypeView;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * Rendered HTML of the catalog parts of the menu pages, from {@code fragments/catalog.html}.
+ * <p>
+ * Each fragment is rendered on first use for the current catalog snapshot and then served
+ * as a string until the next snapshot, so a page only evaluates its per-visitor parts.
+ * The category sections of {@code menu/menu-detail} contain one add-to-cart form per item,
+ * whose CSRF field is per session: they are kept as the parts between those fields, and
+ * the page writes the live field between consecutive parts.
+ * <p>
+ * A plain {@link Context} cannot resolve {@code @{...}} links, so the fragments prefix
+ * their URLs with the {@code contextPath} variable. The context path is fixed for the
+ * life of the application, so it never invalidates a rendered fragment.
+ */
+@Service
+public class CatalogFragmentService {
+
+    private static final String TEMPLATE = "fragments/catalog";
+    private static final String CSRF_SLOT = "<!--csrf-field-->";
+    private static final Pattern CSRF_SPLIT = Pattern.compile(Pattern.quote(CSRF_SLOT));
+
+    private final CatalogService catalogService;
+    private final ITemplateEngine templateEngine;
+    private final String contextPath;
+
+    private volatile RenderedFragments rendered;
+
+    public CatalogFragmentService(CatalogService catalogService, ITemplateEngine templateEngine,
+                                  ServletContext servletContext) {
+        this.catalogService = catalogService;
+        this.templateEngine = templateEngine;
+        this.contextPath = servletContext.getContextPath();
+    }
+
+    // Get the <li> entries of the header's menu type dropdown
+    public String getMenuTypeDropdown() {
+        RenderedFragments current = current();
+        return current.fragments.computeIfAbsent("menuTypeDropdown",
+                name -> render(name, menuTypesContext(current.snapshot)));
+    }
+
+    // Get the menu type cards of the home page
+    public String getMenuTypeCards() {
+        RenderedFragments current = current();
+        return current.fragments.computeIfAbsent("menuTypeCards",
+                name -> render(name, menuTypesContext(current.snapshot)));
+    }
+
+    // Get a menu type's category sections, split where each add-to-cart form needs its CSRF field
+    public List<String> getCategorySections(Long menuTypeId) {
+        RenderedFragments current = current();
+        Optional<MenuTypeView> menuType = current.snapshot.findMenuType(menuTypeId);
+        if (menuType.isEmpty()) {
+            return List.of();
+        }
+        return current.categorySections.computeIfAbsent(menuTypeId, id -> {
+            Context context = newContext();
+            context.setVariable("categories", menuType.get().getCategories());
+            context.setVariable("csrfSlot", CSRF_SLOT);
+            return List.of(CSRF_SPLIT.split(render("categorySections", context), -1));
+        });
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        rendered = new RenderedFragments(event.getSnapshot());
+    }
+
+    // Fragments of the current snapshot, starting over if a newer one has been built
+    private RenderedFragments current() {
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        RenderedFragments current = rendered;
+        if (current == null || current.snapshot.getVersion() < snapshot.getVersion()) {
+            current = new RenderedFragments(snapshot);
+            rendered = current;
+        }
+        return current;
+    }
+
+    private Context menuTypesContext(CatalogSnapshot snapshot) {
+        Context context = newContext();
+        context.setVariable("menuTypes", snapshot.getMenuTypes());
+        return context;
+    }
+
+    private Context newContext() {
+        Context context = new Context();
+        context.setVariable("contextPath", contextPath);
+        return context;
+    }
+
+    private String render(String fragment, Context context) {
+        return templateEngine.process(TEMPLATE, Set.of(fragment), context);
+    }
+
+    private static final class RenderedFragments {
+
+        final CatalogSnapshot snapshot;
+        final Map<String, String> fragments = new ConcurrentHashMap<>();
+        final Map<Long, List<String>> categorySections = new ConcurrentHashMap<>();
+
+        RenderedFragments(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
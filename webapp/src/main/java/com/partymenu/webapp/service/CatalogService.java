@@ -0,0 +1,73 @@
+package com.partymenu.webapp.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.catalog.CatalogRefreshedEvent;
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.catalog.CatalogRow;
+import com.partymenu.webapp.repository.MenuTypeRepository;
+
+/**
+ * Owns the current {@link CatalogSnapshot} that serves every public menu read.
+ * The snapshot is built at startup and rebuilt after each committed catalog change,
+ * then swapped in with a single volatile write.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    private final MenuTypeRepository menuTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogService(MenuTypeRepository menuTypeRepository, ApplicationEventPublisher eventPublisher) {
+        this.menuTypeRepository = menuTypeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Get the current snapshot, building the first one if startup has not done so yet
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : refresh(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        refresh(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Rebuilding catalog snapshot after {}", event);
+        refresh(event);
+    }
+
+    // Rebuild from the database; serialized so a slower rebuild never overwrites a newer one
+    public synchronized CatalogSnapshot refresh(CatalogChangedEvent cause) {
+        List<CatalogRow> rows = menuTypeRepository.findActiveCatalogRows();
+
+        CatalogSnapshot rebuilt = CatalogSnapshot.build(versionSequence.incrementAndGet(), rows);
+        snapshot = rebuilt;
+        log.info("Catalog snapshot v{} built: {} menu types, {} items",
+                rebuilt.getVersion(), rebuilt.getMenuTypeCount(), rebuilt.getItemCount());
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(rebuilt, cause));
+        return rebuilt;
+    }
+}
@@ -1,10 +1,20 @@
 package com.partymenu.webapp.service;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.CategoryRow;
+import com.partymenu.webapp.admin.KeysetCursor;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.catalog.CategoryView;
+import com.partymenu.webapp.catalog.MenuTypeView;
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuType;
+import com.partymenu.webapp.repository.AdminListingRepository;
 import com.partymenu.webapp.repository.CategoryRepository;
 import com.partymenu.webapp.repository.MenuTypeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -16,10 +26,20 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final MenuTypeRepository menuTypeRepository;
-
-    public CategoryService(CategoryRepository categoryRepository, MenuTypeRepository menuTypeRepository) {
+    private final AdminListingRepository adminListingRepository;
+    private final CatalogService catalogService;
+    private final CatalogAggregatesService catalogAggregatesService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CategoryService(CategoryRepository categoryRepository, MenuTypeRepository menuTypeRepository,
+                           AdminListingRepository adminListingRepository, CatalogService catalogService,
+                           CatalogAggregatesService catalogAggregatesService, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.menuTypeRepository = menuTypeRepository;
+        this.adminListingRepository = adminListingRepository;
+        this.catalogService = catalogService;
+        this.catalogAggregatesService = catalogAggregatesService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Get all active categories
@@ -52,9 +72,17 @@ public class CategoryService {
         return categoryRepository.findAll();
     }
 
+    // Get one page of the admin category listing
+    @Transactional(readOnly = true)
+    public KeysetPage<CategoryRow> getCategoryPage(Long menuTypeId, Boolean active, AdminSort sort,
+                                                   String cursor, Integer size) {
+        return adminListingRepository.findCategories(menuTypeId, active, sort,
+                KeysetCursor.decode(cursor), KeysetPage.size(size));
+    }
+
     // Save category
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
     // Create new category
@@ -70,7 +98,7 @@ public class CategoryService {
         if (displayOrder != null) {
             category.setDisplayOrder(displayOrder);
         }
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
     // Update category
@@ -93,7 +121,7 @@ public class CategoryService {
         if (displayOrder != null) {
             category.setDisplayOrder(displayOrder);
         }
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
     // Delete category
@@ -102,6 +130,7 @@ public class CategoryService {
                 .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + id));
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogChangedEvent.Kind.CATEGORY, id));
     }
 
     // Toggle active status
@@ -110,13 +139,15 @@ public class CategoryService {
                 .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + id));
 
         category.setIsActive(!category.getIsActive());
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
-    // Get categories with menu items
-    @Transactional(readOnly = true)
-    public List<Category> getCategoriesWithMenuItemsByMenuType(Long menuTypeId) {
-        return categoryRepository.findCategoriesWithMenuItemsByMenuType(menuTypeId);
+    // Get the active categories of a menu type with their items, from the catalog snapshot
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CategoryView> getCategoriesWithMenuItemsByMenuType(Long menuTypeId) {
+        return catalogService.getSnapshot().findMenuType(menuTypeId)
+                .map(MenuTypeView::getCategories)
+                .orElse(List.of());
     }
 
     // Get categories with available menu items
@@ -131,9 +162,14 @@ public class CategoryService {
         return categoryRepository.existsByNameIgnoreCaseAndMenuType(name, menuType);
     }
 
-    // Get count of categories by menu type
-    @Transactional(readOnly = true)
+    // Get count of active categories by menu type, maintained incrementally
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getCategoryCountByMenuType(MenuType menuType) {
-        return categoryRepository.countByMenuTypeAndIsActiveTrue(menuType);
+        return catalogAggregatesService.getActiveCategoryCount(menuType.getId());
+    }
+
+    private Category published(Category category) {
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.CATEGORY, category.getId()));
+        return category;
     }
 }
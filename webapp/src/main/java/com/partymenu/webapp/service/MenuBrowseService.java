@@ -0,0 +1,43 @@
+package com.partymenu.webapp.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.partymenu.webapp.catalog.CatalogRefreshedEvent;
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.catalog.FacetIndex;
+import com.partymenu.webapp.catalog.FacetQuery;
+import com.partymenu.webapp.catalog.FacetResult;
+
+/**
+ * Faceted browsing over available menu items, answered from a {@link FacetIndex}
+ * that is rebuilt with every catalog snapshot so admin edits show up as soon as
+ * they commit.
+ */
+@Service
+public class MenuBrowseService {
+
+    private final CatalogService catalogService;
+
+    private volatile FacetIndex index;
+
+    public MenuBrowseService(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Filter, count facets, sort and page without touching the database
+    public FacetResult browse(FacetQuery query) {
+        FacetIndex current = index;
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        if (current == null || current.getVersion() < snapshot.getVersion()) {
+            current = FacetIndex.build(snapshot);
+            index = current;
+        }
+        return current.query(query);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        index = FacetIndex.build(event.getSnapshot());
+    }
+}
@@ -1,16 +1,30 @@
 package com.partymenu.webapp.service;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.KeysetCursor;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuItemRow;
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.catalog.PriceStatistics;
 import com.partymenu.webapp.entity.Category;
 import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.repository.AdminListingRepository;
 import com.partymenu.webapp.repository.CategoryRepository;
 import com.partymenu.webapp.repository.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -18,11 +32,21 @@ public class MenuItemService {
     
     private final MenuItemRepository menuItemRepository;
     private final CategoryRepository categoryRepository;
+    private final AdminListingRepository adminListingRepository;
+    private final MenuSearchService menuSearchService;
+    private final CatalogAggregatesService catalogAggregatesService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public MenuItemService(MenuItemRepository menuItemRepository, CategoryRepository categoryRepository) {
+    public MenuItemService(MenuItemRepository menuItemRepository, CategoryRepository categoryRepository,
+                           AdminListingRepository adminListingRepository, MenuSearchService menuSearchService,
+                           CatalogAggregatesService catalogAggregatesService, ApplicationEventPublisher eventPublisher) {
         this.menuItemRepository = menuItemRepository;
         this.categoryRepository = categoryRepository;
+        this.adminListingRepository = adminListingRepository;
+        this.menuSearchService = menuSearchService;
+        this.catalogAggregatesService = catalogAggregatesService;
+        this.eventPublisher = eventPublisher;
     }
     
     // Get all available menu items
@@ -55,6 +79,14 @@ public class MenuItemService {
         return menuItemRepository.findAll();
     }
     
+    // Get one page of the admin menu item listing
+    @Transactional(readOnly = true)
+    public KeysetPage<MenuItemRow> getMenuItemPage(Long categoryId, Boolean available, Boolean popular,
+                                                   AdminSort sort, String cursor, Integer size) {
+        return adminListingRepository.findMenuItems(categoryId, available, popular, sort,
+                KeysetCursor.decode(cursor), KeysetPage.size(size));
+    }
+    
     // Get popular menu items
     @Transactional(readOnly = true)
     public List<MenuItem> getPopularMenuItems() {
@@ -63,7 +95,7 @@ public class MenuItemService {
     
     // Save menu item
     public MenuItem saveMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        return published(menuItemRepository.save(menuItem));
     }
     
     // Create new menu item
@@ -86,7 +118,7 @@ public class MenuItemService {
             menuItem.setPreparationTime(preparationTime);
         }
         
-        return menuItemRepository.save(menuItem);
+        return published(menuItemRepository.save(menuItem));
     }
     
     // Update menu item
@@ -115,7 +147,7 @@ public class MenuItemService {
             menuItem.setPreparationTime(preparationTime);
         }
         
-        return menuItemRepository.save(menuItem);
+        return published(menuItemRepository.save(menuItem));
     }
     
     // Delete menu item
@@ -124,6 +156,7 @@ public class MenuItemService {
                 .orElseThrow(() -> new IllegalArgumentException("Menu item not found with id: " + id));
         
         menuItemRepository.delete(menuItem);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogChangedEvent.Kind.MENU_ITEM, id));
     }
     
     // Toggle availability
@@ -132,7 +165,7 @@ public class MenuItemService {
                 .orElseThrow(() -> new IllegalArgumentException("Menu item not found with id: " + id));
         
         menuItem.setIsAvailable(!menuItem.getIsAvailable());
-        return menuItemRepository.save(menuItem);
+        return published(menuItemRepository.save(menuItem));
     }
     
     // Toggle popular status
@@ -141,16 +174,46 @@ public class MenuItemService {
                 .orElseThrow(() -> new IllegalArgumentException("Menu item not found with id: " + id));
         
         menuItem.setIsPopular(!menuItem.getIsPopular());
-        return menuItemRepository.save(menuItem);
+        return published(menuItemRepository.save(menuItem));
     }
     
-    // Search menu items
-    @Transactional(readOnly = true)
-    public List<MenuItem> searchMenuItems(String keyword) {
+    // Set availability for many items in one UPDATE; returns the number of rows changed
+    public int setAvailability(Collection<Long> ids, boolean available) {
+        Set<Long> targets = bulkTargets(ids);
+        return publishedBulk(menuItemRepository.updateAvailability(targets, available, LocalDateTime.now()));
+    }
+    
+    // Set popular status for many items in one UPDATE
+    public int setPopular(Collection<Long> ids, boolean popular) {
+        Set<Long> targets = bulkTargets(ids);
+        return publishedBulk(menuItemRepository.updatePopular(targets, popular, LocalDateTime.now()));
+    }
+    
+    // Raise or lower prices by a percentage (e.g. 10 or -15.5), rounded to cents
+    public int adjustPrices(Collection<Long> ids, BigDecimal percent) {
+        if (percent == null || percent.compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("Price adjustment must be greater than -100%");
+        }
+        Set<Long> targets = bulkTargets(ids);
+        return publishedBulk(menuItemRepository.adjustPrice(targets, percent.setScale(2, RoundingMode.HALF_UP),
+                LocalDateTime.now()));
+    }
+    
+    // Move many items to another category
+    public int moveToCategory(Collection<Long> ids, Long categoryId) {
+        Set<Long> targets = bulkTargets(ids);
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + categoryId));
+        return publishedBulk(menuItemRepository.updateCategory(targets, category, LocalDateTime.now()));
+    }
+    
+    // Search available menu items by name and description; returns ranked ids from the in-memory index
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Long> searchMenuItems(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllAvailableMenuItems();
+            return List.of();
         }
-        return menuItemRepository.searchMenuItems(keyword.trim());
+        return menuSearchService.search(keyword.trim(), Integer.MAX_VALUE);
     }
     
     // Search by name only
@@ -171,16 +234,10 @@ public class MenuItemService {
         return menuItemRepository.findAvailableMenuItemsByMenuType(menuTypeId);
     }
     
-    // Get random popular items for homepage
-    @Transactional(readOnly = true)
-    public List<MenuItem> getRandomPopularItems(int limit) {
-        return menuItemRepository.findRandomPopularItems(limit);
-    }
-    
-    // Get count of menu items by category
-    @Transactional(readOnly = true)
+    // Get count of available menu items by category, maintained incrementally
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getMenuItemCountByCategory(Category category) {
-        return menuItemRepository.countByCategoryAndIsAvailableTrue(category);
+        return catalogAggregatesService.getAvailableItemCount(category.getId());
     }
     
     // Get cheapest items in category
@@ -189,9 +246,37 @@ public class MenuItemService {
         return menuItemRepository.findCheapestItemsInCategory(category);
     }
     
-    // Get price statistics
-    @Transactional(readOnly = true)
-    public Object[] getPriceStatistics() {
-        return menuItemRepository.getPriceStatistics();
+    // Get price statistics of available items, maintained incrementally
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PriceStatistics getPriceStatistics() {
+        return catalogAggregatesService.getPriceStatistics();
+    }
+    
+    private static Set<Long> bulkTargets(Collection<Long> ids) {
+        Set<Long> targets = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    targets.add(id);
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No menu items selected");
+        }
+        return targets;
+    }
+    
+    // One catalog invalidation per bulk statement, however many rows it touched
+    private int publishedBulk(int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.bulk(CatalogChangedEvent.Kind.MENU_ITEM));
+        }
+        return updated;
+    }
+    
+    private MenuItem published(MenuItem menuItem) {
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, menuItem.getId()));
+        return menuItem;
     }
 }
@@ -0,0 +1,399 @@
+package com.partymenu.webapp.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.partymenu.webapp.admin.CsvReader;
+import com.partymenu.webapp.admin.ImportResult;
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.entity.Category;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Streaming bulk import and export of menu items as CSV or JSON.
+ * <p>
+ * Imports parse one record at a time. Each record is validated and its category
+ * resolved by name from a map loaded once. Rows are written with plain JDBC batches
+ * of {@code partymenu.import.batch-size}, leaving ids to the database. Exports
+ * stream a forward-only result set straight into the response.
+ */
+@Service
+public class MenuItemTransferService {
+
+    public static final String[] COLUMNS = {
+        "name", "description", "price", "category", "menu_type",
+        "is_popular", "is_available", "preparation_time", "image_url"
+    };
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_items (name, description, price, image_url, category_id, is_popular, " +
+            "is_available, preparation_time, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String EXPORT_SQL =
+            "SELECT mi.name, mi.description, mi.price, c.name, mt.name, mi.is_popular, mi.is_available, " +
+            "mi.preparation_time, mi.image_url " +
+            "FROM menu_items mi JOIN categories c ON c.id = mi.category_id JOIN menu_types mt ON mt.id = c.menu_type_id " +
+            "ORDER BY mi.id";
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public MenuItemTransferService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                   EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                                   @Value("${partymenu.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportJdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    // Import CSV (header row required) or a JSON array of objects; invalid rows are skipped and reported
+    @Transactional
+    public ImportResult importMenuItems(InputStream input, boolean json) throws IOException {
+        CategoryLookup categories = loadCategories();
+        ImportResult result = new ImportResult();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        RecordSource source = json ? jsonRecords(input) : csvRecords(input);
+        Map<String, String> record;
+        while ((record = source.next()) != null) {
+            try {
+                batch.add(toInsertArgs(record, categories, now));
+            } catch (IllegalArgumentException e) {
+                result.reject(source.position(), e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                result.addImported(batch.size());
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            result.addImported(batch.size());
+        }
+
+        if (result.getImported() > 0) {
+            evictCachedMenuItemsAfterCommit();
+            eventPublisher.publishEvent(CatalogChangedEvent.bulk(CatalogChangedEvent.Kind.MENU_ITEM));
+        }
+        return result;
+    }
+
+    // Write every menu item as CSV with a header row
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        try {
+            exportJdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    for (int i = 1; i <= COLUMNS.length; i++) {
+                        if (i > 1) {
+                            writer.write(',');
+                        }
+                        Object value = rs.getObject(i);
+                        writer.write(CsvReader.escape(value instanceof BigDecimal price ? price.toPlainString()
+                                : value != null ? value.toString() : null));
+                    }
+                    writer.write("\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Write every menu item as a JSON array of objects keyed like the CSV header
+    @Transactional(readOnly = true)
+    public void exportJson(OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.writeStartArray();
+        try {
+            exportJdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeStringField(COLUMNS[0], rs.getString(1));
+                    generator.writeStringField(COLUMNS[1], rs.getString(2));
+                    generator.writeNumberField(COLUMNS[2], rs.getBigDecimal(3));
+                    generator.writeStringField(COLUMNS[3], rs.getString(4));
+                    generator.writeStringField(COLUMNS[4], rs.getString(5));
+                    generator.writeBooleanField(COLUMNS[5], rs.getBoolean(6));
+                    generator.writeBooleanField(COLUMNS[6], rs.getBoolean(7));
+                    int preparationTime = rs.getInt(8);
+                    if (rs.wasNull()) {
+                        generator.writeNullField(COLUMNS[7]);
+                    } else {
+                        generator.writeNumberField(COLUMNS[7], preparationTime);
+                    }
+                    generator.writeStringField(COLUMNS[8], rs.getString(9));
+                    generator.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    // JDBC inserts bypass Hibernate, so category item lists and finder results in the
+    // second-level cache are dropped once the new rows are visible
+    private void evictCachedMenuItemsAfterCommit() {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evictCollectionData(Category.class.getName() + ".menuItems");
+                cache.evictDefaultQueryRegion();
+            }
+        });
+    }
+
+    private Object[] toInsertArgs(Map<String, String> record, CategoryLookup categories, Timestamp now) {
+        String name = trimToNull(record.get("name"));
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (name.length() > 150) {
+            throw new IllegalArgumentException("name is longer than 150 characters");
+        }
+
+        BigDecimal price;
+        try {
+            price = new BigDecimal(trimToNull(record.get("price")));
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IllegalArgumentException("price is missing or not a number");
+        }
+        if (price.signum() < 0 || price.scale() > 2) {
+            throw new IllegalArgumentException("price must be zero or more with at most two decimals");
+        }
+        // numeric(10, 2) leaves eight digits before the point; a longer price would fail the whole batch
+        if (price.precision() - price.scale() > 8) {
+            throw new IllegalArgumentException("price is larger than 99999999.99");
+        }
+
+        String description = trimToNull(record.get("description"));
+        if (description != null && description.length() > 1000) {
+            throw new IllegalArgumentException("description is longer than 1000 characters");
+        }
+
+        Long categoryId = categories.resolve(trimToNull(record.get("menu_type")), trimToNull(record.get("category")));
+
+        Integer preparationTime = 30;
+        String preparation = trimToNull(record.get("preparation_time"));
+        if (preparation != null) {
+            try {
+                preparationTime = Integer.valueOf(preparation);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("preparation_time is not a whole number");
+            }
+        }
+
+        String imageUrl = trimToNull(record.get("image_url"));
+        if (imageUrl != null && imageUrl.length() > 255) {
+            throw new IllegalArgumentException("image_url is longer than 255 characters");
+        }
+
+        return new Object[] {
+            name, description, price, imageUrl, categoryId,
+            parseFlag(record.get("is_popular"), false), parseFlag(record.get("is_available"), true),
+            preparationTime, now, now
+        };
+    }
+
+    private static boolean parseFlag(String value, boolean defaultValue) {
+        String flag = trimToNull(value);
+        if (flag == null) {
+            return defaultValue;
+        }
+        return switch (flag.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new IllegalArgumentException("'" + flag + "' is not a yes/no value");
+        };
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private CategoryLookup loadCategories() {
+        CategoryLookup lookup = new CategoryLookup();
+        jdbcTemplate.query("SELECT c.id, c.name, mt.name FROM categories c JOIN menu_types mt ON mt.id = c.menu_type_id",
+                (RowCallbackHandler) rs -> lookup.add(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        return lookup;
+    }
+
+    private RecordSource csvRecords(InputStream input) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            return RecordSource.EMPTY;
+        }
+        List<String> columns = new ArrayList<>(header.size());
+        for (String column : header) {
+            columns.add(column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        return new RecordSource() {
+            private long line;
+
+            @Override
+            public Map<String, String> next() throws IOException {
+                line = reader.getLineNumber();
+                List<String> values = reader.next();
+                if (values == null) {
+                    return null;
+                }
+                Map<String, String> record = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                    record.put(columns.get(i), values.get(i));
+                }
+                return record;
+            }
+
+            @Override
+            public String position() {
+                return "Line " + line;
+            }
+        };
+    }
+
+    private RecordSource jsonRecords(InputStream input) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(input);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("JSON import must be an array of objects");
+        }
+        return new RecordSource() {
+            private long record;
+
+            @Override
+            public Map<String, String> next() throws IOException {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                record++;
+                JsonNode node = parser.readValueAsTree();
+                Map<String, String> record = new LinkedHashMap<>();
+                node.fields().forEachRemaining(field -> record.put(field.getKey().toLowerCase(Locale.ROOT),
+                        field.getValue().isNull() ? null : field.getValue().asText()));
+                return record;
+            }
+
+            @Override
+            public String position() {
+                return "Record " + record;
+            }
+        };
+    }
+
+    private interface RecordSource {
+
+        RecordSource EMPTY = new RecordSource() {
+            @Override
+            public Map<String, String> next() {
+                return null;
+            }
+
+            @Override
+            public String position() {
+                return "";
+            }
+        };
+
+        Map<String, String> next() throws IOException;
+
+        // Where the most recently returned record starts, for error messages
+        String position();
+    }
+
+    // Categories by (menu type, category) name, case-insensitive; menu type may be omitted when unambiguous
+    private static final class CategoryLookup {
+
+        private static final Long AMBIGUOUS = -1L;
+
+        private final Map<String, Long> byQualifiedName = new HashMap<>();
+        private final Map<String, Long> byName = new HashMap<>();
+
+        void add(long id, String name, String menuTypeName) {
+            String key = normalize(name);
+            byQualifiedName.put(normalize(menuTypeName) + '\u0000' + key, id);
+            byName.merge(key, id, (existing, added) -> AMBIGUOUS);
+        }
+
+        Long resolve(String menuTypeName, String categoryName) {
+            if (categoryName == null) {
+                throw new IllegalArgumentException("category is required");
+            }
+            Long id = menuTypeName != null
+                    ? byQualifiedName.get(normalize(menuTypeName) + '\u0000' + normalize(categoryName))
+                    : byName.get(normalize(categoryName));
+            if (id == null) {
+                throw new IllegalArgumentException("unknown category '" + categoryName + "'"
+                        + (menuTypeName != null ? " in menu type '" + menuTypeName + "'" : ""));
+            }
+            if (AMBIGUOUS.equals(id)) {
+                throw new IllegalArgumentException("category '" + categoryName + "' exists in several menu types; "
+                        + "set menu_type");
+            }
+            return id;
+        }
+
+        private static String normalize(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.partymenu.webapp.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.catalog.InvertedIndex;
+import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.repository.MenuItemRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Keeps the full-text {@link InvertedIndex} over available menu items in step with
+ * the database. The index is loaded once at startup and then updated one item at a
+ * time as menu item changes commit.
+ * <p>
+ * A full rebuild loads into a fresh index and swaps it in. Item changes that arrive while
+ * it is loading are applied to the old index and also recorded; once the new index is in
+ * place the recorded items are read again and applied to it, so none is lost with the
+ * old index.
+ */
+@Service
+public class MenuSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSearchService.class);
+
+    private final MenuItemRepository menuItemRepository;
+    private final EntityManager entityManager;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile InvertedIndex index = new InvertedIndex();
+    // Ids of items changed while a rebuild is loading, null when none is; guarded by this
+    private Set<Long> changedDuringRebuild;
+
+    public MenuSearchService(MenuItemRepository menuItemRepository, EntityManager entityManager) {
+        this.menuItemRepository = menuItemRepository;
+        this.entityManager = entityManager;
+    }
+
+    // Return ids of available items matching every keyword, best match first
+    public List<Long> search(String keyword, int limit) {
+        return index.search(keyword, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (this) {
+                changedDuringRebuild = new LinkedHashSet<>();
+            }
+            InvertedIndex rebuilt = new InvertedIndex();
+            try {
+                for (MenuItem menuItem : menuItemRepository.findByIsAvailableTrueOrderByNameAsc()) {
+                    rebuilt.put(menuItem.getId(), menuItem.getName(), menuItem.getDescription());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+                throw e;
+            }
+            // Swap and stop recording together: a change seen after this goes to the new index
+            List<Long> changed;
+            synchronized (this) {
+                index = rebuilt;
+                changed = new ArrayList<>(changedDuringRebuild);
+                changedDuringRebuild = null;
+            }
+            // The load left its entities in the persistence context; read the changed items afresh
+            entityManager.clear();
+            changed.forEach(this::refresh);
+            log.info("Search index built with {} menu items, {} changed during the build", rebuilt.size(), changed.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() != CatalogChangedEvent.Kind.MENU_ITEM) {
+            return;
+        }
+        if (event.isBulk()) {
+            rebuild();
+            return;
+        }
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.getEntityId());
+            }
+        }
+        if (event.isDeleted()) {
+            index.remove(event.getEntityId());
+            return;
+        }
+        refresh(event.getEntityId());
+    }
+
+    // Index the item as it is now stored, or drop it when it is gone or unavailable
+    private void refresh(Long menuItemId) {
+        menuItemRepository.findById(menuItemId).ifPresentOrElse(menuItem -> {
+            if (Boolean.TRUE.equals(menuItem.getIsAvailable())) {
+                index.put(menuItem.getId(), menuItem.getName(), menuItem.getDescription());
+            } else {
+                index.remove(menuItem.getId());
+            }
+        }, () -> index.remove(menuItemId));
+    }
+}
@@ -4,10 +4,18 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.KeysetCursor;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuTypeRow;
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
 import com.partymenu.webapp.entity.MenuType;
+import com.partymenu.webapp.repository.AdminListingRepository;
 import com.partymenu.webapp.repository.MenuTypeRepository;
 
 @Service
@@ -15,10 +23,17 @@ import com.partymenu.webapp.repository.MenuTypeRepository;
 public class MenuTypeService {
     
     private final MenuTypeRepository menuTypeRepository;
+    private final AdminListingRepository adminListingRepository;
+    private final CatalogAggregatesService catalogAggregatesService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public MenuTypeService(MenuTypeRepository menuTypeRepository) {
+    public MenuTypeService(MenuTypeRepository menuTypeRepository, AdminListingRepository adminListingRepository,
+                           CatalogAggregatesService catalogAggregatesService, ApplicationEventPublisher eventPublisher) {
         this.menuTypeRepository = menuTypeRepository;
+        this.adminListingRepository = adminListingRepository;
+        this.catalogAggregatesService = catalogAggregatesService;
+        this.eventPublisher = eventPublisher;
     }
     
     // Get all active menu types
@@ -33,6 +48,12 @@ public class MenuTypeService {
         return menuTypeRepository.findAll();
     }
     
+    // Get one page of the admin menu type listing
+    @Transactional(readOnly = true)
+    public KeysetPage<MenuTypeRow> getMenuTypePage(Boolean active, AdminSort sort, String cursor, Integer size) {
+        return adminListingRepository.findMenuTypes(active, sort, KeysetCursor.decode(cursor), KeysetPage.size(size));
+    }
+    
     // Get menu type by ID
     @Transactional(readOnly = true)
     public Optional<MenuType> getMenuTypeById(Long id) {
@@ -47,7 +68,7 @@ public class MenuTypeService {
     
     // Save menu type
     public MenuType saveMenuType(MenuType menuType) {
-        return menuTypeRepository.save(menuType);
+        return published(menuTypeRepository.save(menuType));
     }
     
     // Create new menu type
@@ -57,7 +78,7 @@ public class MenuTypeService {
         }
         
         MenuType menuType = new MenuType(name, description);
-        return menuTypeRepository.save(menuType);
+        return published(menuTypeRepository.save(menuType));
     }
     
     // Update menu type
@@ -73,7 +94,7 @@ public class MenuTypeService {
         
         menuType.setName(name);
         menuType.setDescription(description);
-        return menuTypeRepository.save(menuType);
+        return published(menuTypeRepository.save(menuType));
     }
     
     // Delete menu type
@@ -82,6 +103,7 @@ public class MenuTypeService {
                 .orElseThrow(() -> new IllegalArgumentException("Menu type not found with id: " + id));
         
         menuTypeRepository.delete(menuType);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogChangedEvent.Kind.MENU_TYPE, id));
     }
     
     // Toggle active status
@@ -90,7 +112,7 @@ public class MenuTypeService {
                 .orElseThrow(() -> new IllegalArgumentException("Menu type not found with id: " + id));
         
         menuType.setIsActive(!menuType.getIsActive());
-        return menuTypeRepository.save(menuType);
+        return published(menuTypeRepository.save(menuType));
     }
     
     // Check if menu type exists by name
@@ -110,4 +132,15 @@ public class MenuTypeService {
     public long getActiveMenuTypeCount() {
         return menuTypeRepository.countByIsActiveTrue();
     }
+    
+    // Get count of all categories in a menu type, maintained incrementally
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long getCategoryCount(Long menuTypeId) {
+        return catalogAggregatesService.getCategoryCount(menuTypeId);
+    }
+    
+    private MenuType published(MenuType menuType) {
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_TYPE, menuType.getId()));
+        return menuType;
+    }
 }
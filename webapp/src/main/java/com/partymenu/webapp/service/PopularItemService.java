@@ -0,0 +1,42 @@
+package com.partymenu.webapp.service;
+
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.partymenu.webapp.catalog.CatalogRefreshedEvent;
+import com.partymenu.webapp.catalog.ItemCard;
+import com.partymenu.webapp.catalog.PopularItemPool;
+
+/**
+ * Random popular items for the homepage, drawn from a {@link PopularItemPool} that
+ * follows the catalog snapshot. Toggling an item's popular or available flag
+ * refreshes the snapshot, and with it the pool.
+ */
+@Service
+public class PopularItemService {
+
+    private final CatalogService catalogService;
+
+    private volatile PopularItemPool pool;
+
+    public PopularItemService(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Get random popular items without touching the database
+    public List<ItemCard> getRandomPopularItems(int limit) {
+        PopularItemPool current = pool;
+        if (current == null) {
+            current = PopularItemPool.of(catalogService.getSnapshot(), null);
+            pool = current;
+        }
+        return current.sample(limit);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        pool = PopularItemPool.of(event.getSnapshot(), pool);
+    }
+}
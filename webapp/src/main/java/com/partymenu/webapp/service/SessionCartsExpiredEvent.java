@@ -0,0 +1,19 @@
+package com.partymenu.webapp.service;
+
+/**
+ * Published by {@link CartExpiryService} after a run that deleted abandoned session carts.
+ * The bulk deletes do not report which sessions they emptied, so listeners treat every
+ * session cart as possibly gone.
+ */
+public final class SessionCartsExpiredEvent {
+
+    private final long purgedRows;
+
+    public SessionCartsExpiredEvent(long purgedRows) {
+        this.purgedRows = purgedRows;
+    }
+
+    public long getPurgedRows() {
+        return purgedRows;
+    }
+}
@@ -0,0 +1,71 @@
+package com.partymenu.webapp.service;
+
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.partymenu.webapp.catalog.CatalogRefreshedEvent;
+import com.partymenu.webapp.catalog.CatalogSnapshot;
+import com.partymenu.webapp.catalog.CategoryView;
+import com.partymenu.webapp.catalog.ItemCard;
+import com.partymenu.webapp.catalog.MenuTypeView;
+import com.partymenu.webapp.catalog.Suggestion;
+import com.partymenu.webapp.catalog.SuggestionTrie;
+
+/**
+ * Type-ahead suggestions for available menu items and active categories, served from
+ * a {@link SuggestionTrie} that follows the catalog snapshot. A single item change is
+ * applied in place; any other change rebuilds the trie from the new snapshot.
+ */
+@Service
+public class SuggestionService {
+
+    public static final int DEFAULT_LIMIT = 8;
+
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int POPULAR_ITEM_WEIGHT = 2;
+    private static final int ITEM_WEIGHT = 1;
+
+    private volatile SuggestionTrie trie = new SuggestionTrie();
+
+    // Get the best suggestions for a typed prefix
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return trie.lookup(prefix, Math.min(limit, SuggestionTrie.TOP_K));
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (!event.isSingleItemChange()) {
+            trie = build(snapshot);
+            return;
+        }
+
+        Long itemId = event.getCause().getEntityId();
+        ItemCard item = snapshot.findItem(itemId).orElse(null);
+        if (item != null && item.getIsAvailable()) {
+            trie.put(toSuggestion(item));
+        } else {
+            trie.remove(Suggestion.Type.ITEM, itemId);
+        }
+    }
+
+    private static SuggestionTrie build(CatalogSnapshot snapshot) {
+        SuggestionTrie rebuilt = new SuggestionTrie();
+        for (MenuTypeView menuType : snapshot.getMenuTypes()) {
+            for (CategoryView category : menuType.getCategories()) {
+                rebuilt.put(new Suggestion(Suggestion.Type.CATEGORY, category.getId(), category.getName(), CATEGORY_WEIGHT));
+            }
+        }
+        for (ItemCard item : snapshot.getAvailableItems()) {
+            rebuilt.put(toSuggestion(item));
+        }
+        return rebuilt;
+    }
+
+    private static Suggestion toSuggestion(ItemCard item) {
+        int weight = item.getIsPopular() ? POPULAR_ITEM_WEIGHT : ITEM_WEIGHT;
+        return new Suggestion(Suggestion.Type.ITEM, item.getId(), item.getName(), weight);
+    }
+}
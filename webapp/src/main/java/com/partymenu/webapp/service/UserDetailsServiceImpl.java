@@ -1,6 +1,7 @@
 package com.partymenu.webapp.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,11 +20,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userService.findByEmail(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-            .username(user.getEmail())
-            .password(user.getPassword()) // Use plain text password as stored
-            .roles("USER")
-            .disabled(!user.getEnabled())
-            .build();
+        // Password is kept as stored (plain text); the principal also carries the user id
+        return new AuthenticatedUser(user, AuthorityUtils.createAuthorityList("ROLE_USER"));
     }
 }
@@ -0,0 +1,380 @@
+package com.partymenu.webapp.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.partymenu.webapp.entity.CartItem;
+import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.pricing.Money;
+import com.partymenu.webapp.repository.CartItemRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+
+/**
+ * Optional write-behind cart mode, enabled with {@code partymenu.cart.write-behind.enabled=true}.
+ * <p>
+ * Each cart is loaded once into memory and then mutated there; dirty carts are written
+ * back to {@code cart_items} in JDBC batches every {@code flush-interval-ms}, when their
+ * session ends and on shutdown. A crash can therefore lose at most one flush interval of
+ * cart changes. A cart holds one line per menu item, and the line id exposed in this mode
+ * is that menu item's id: row ids change on every flush, which rewrites the cart, while
+ * the menu item id stays valid across flushes, eviction and reload.
+ * <p>
+ * Carts live in this JVM only, so the mode assumes a single instance or sticky sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "partymenu.cart.write-behind.enabled", havingValue = "true")
+public class WriteBehindCartStore implements HttpSessionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindCartStore.class);
+
+    private static final String DELETE_SESSION_CART =
+            "DELETE FROM cart_items WHERE session_id = ? AND user_id IS NULL";
+    private static final String DELETE_USER_CART =
+            "DELETE FROM cart_items WHERE user_id = ?";
+    private static final String INSERT_LINE =
+            "INSERT INTO cart_items (session_id, user_id, menu_item_id, quantity, unit_price, total_price, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final CartItemRepository cartItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idleEviction;
+
+    private final Map<CartKey, CartBuffer> carts = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WriteBehindCartStore(CartItemRepository cartItemRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${partymenu.cart.write-behind.idle-eviction-ms:1800000}") long idleEvictionMs) {
+        this.cartItemRepository = cartItemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleEviction = Duration.ofMillis(idleEvictionMs);
+    }
+
+    // In-memory state of one cart; every access is synchronized on the buffer itself
+    private static final class CartBuffer {
+        private final List<CartItem> lines;
+        private boolean dirty;
+        private boolean evicted;
+        private long lastAccessNanos = System.nanoTime();
+
+        private CartBuffer(List<CartItem> lines) {
+            this.lines = lines;
+        }
+
+        private CartItem findByMenuItem(Long menuItemId) {
+            for (CartItem line : lines) {
+                if (line.getMenuItem().getId().equals(menuItemId)) {
+                    return line;
+                }
+            }
+            return null;
+        }
+    }
+
+    public List<CartItem> getItems(CartKey key) {
+        return withBuffer(key, buffer -> {
+            List<CartItem> copies = new ArrayList<>(buffer.lines.size());
+            for (CartItem line : buffer.lines) {
+                copies.add(copyOf(line));
+            }
+            return copies;
+        });
+    }
+
+    public int getTotalItems(CartKey key) {
+        return withBuffer(key, buffer -> {
+            int total = 0;
+            for (CartItem line : buffer.lines) {
+                total += line.getQuantity();
+            }
+            return total;
+        });
+    }
+
+    public BigDecimal getTotalAmount(CartKey key) {
+        return withBuffer(key, buffer -> {
+            long cents = 0;
+            for (CartItem line : buffer.lines) {
+                cents += line.getTotalPriceCents();
+            }
+            return Money.toBigDecimal(cents);
+        });
+    }
+
+    // Add to an existing line for the same menu item, or start a new line
+    public CartItem add(CartKey key, Long menuItemId, int quantity, Function<Long, MenuItem> menuItemLoader) {
+        CartItem line = withBuffer(key, buffer -> buffer.findByMenuItem(menuItemId));
+        MenuItem menuItem = line == null ? menuItemLoader.apply(menuItemId) : null;
+
+        return withBuffer(key, buffer -> {
+            CartItem existing = buffer.findByMenuItem(menuItemId);
+            if (existing != null) {
+                existing.setQuantity(existing.getQuantity() + quantity);
+                existing.setUpdatedAt(LocalDateTime.now());
+            } else {
+                // The line was removed between the two steps; fall back to the loaded item
+                MenuItem source = menuItem != null ? menuItem : menuItemLoader.apply(menuItemId);
+                existing = key.isUser()
+                        ? new CartItem(key.getUserId(), source, quantity)
+                        : new CartItem(key.getSessionId(), source, quantity);
+                existing.setId(menuItemId);
+                buffer.lines.add(0, existing);
+            }
+            buffer.dirty = true;
+            return copyOf(existing);
+        });
+    }
+
+    // lineId is the line's menu item id; returns null when the quantity dropped to zero
+    public CartItem updateQuantity(CartKey key, Long lineId, int quantity) {
+        return withBuffer(key, buffer -> {
+            CartItem line = buffer.findByMenuItem(lineId);
+            if (line == null) {
+                throw new RuntimeException("Cart item not found");
+            }
+            buffer.dirty = true;
+            if (quantity <= 0) {
+                buffer.lines.remove(line);
+                return null;
+            }
+            line.setQuantity(quantity);
+            line.setUpdatedAt(LocalDateTime.now());
+            return copyOf(line);
+        });
+    }
+
+    public void remove(CartKey key, Long lineId) {
+        withBuffer(key, buffer -> {
+            CartItem line = buffer.findByMenuItem(lineId);
+            if (line != null) {
+                buffer.lines.remove(line);
+                buffer.dirty = true;
+            }
+            return null;
+        });
+    }
+
+    public void clear(CartKey key) {
+        withBuffer(key, buffer -> {
+            if (!buffer.lines.isEmpty()) {
+                buffer.lines.clear();
+                buffer.dirty = true;
+            }
+            return null;
+        });
+    }
+
+    // Move a session cart into a user cart, merging lines for the same menu item
+    public void migrate(CartKey from, CartKey to) {
+        List<CartItem> moved = withBuffer(from, buffer -> {
+            List<CartItem> lines = new ArrayList<>(buffer.lines);
+            buffer.lines.clear();
+            buffer.dirty = true;
+            return lines;
+        });
+        if (moved.isEmpty()) {
+            return;
+        }
+        withBuffer(to, buffer -> {
+            for (CartItem line : moved) {
+                CartItem existing = buffer.findByMenuItem(line.getMenuItem().getId());
+                if (existing != null) {
+                    existing.setQuantity(existing.getQuantity() + line.getQuantity());
+                    existing.setUpdatedAt(LocalDateTime.now());
+                } else {
+                    line.setSessionId("");
+                    line.setUserId(to.getUserId());
+                    buffer.lines.add(line);
+                }
+            }
+            buffer.dirty = true;
+            return null;
+        });
+        flush(List.of(from, to));
+    }
+
+    @Scheduled(fixedDelayString = "${partymenu.cart.write-behind.flush-interval-ms:5000}")
+    public void flushDirtyCarts() {
+        flush(new ArrayList<>(carts.keySet()));
+        evictIdleCarts();
+    }
+
+    @Override
+    public void sessionDestroyed(HttpSessionEvent event) {
+        CartKey key = CartKey.session(event.getSession().getId());
+        if (carts.containsKey(key)) {
+            flush(List.of(key));
+            evict(key);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(new ArrayList<>(carts.keySet()));
+    }
+
+    private <T> T withBuffer(CartKey key, Function<CartBuffer, T> action) {
+        while (true) {
+            CartBuffer buffer = carts.get(key);
+            if (buffer == null) {
+                CartBuffer loaded = load(key);
+                buffer = carts.putIfAbsent(key, loaded);
+                if (buffer == null) {
+                    buffer = loaded;
+                }
+            }
+            synchronized (buffer) {
+                if (!buffer.evicted) {
+                    buffer.lastAccessNanos = System.nanoTime();
+                    return action.apply(buffer);
+                }
+            }
+            // Evicted between lookup and lock; the next pass reloads it
+            carts.remove(key, buffer);
+        }
+    }
+
+    private CartBuffer load(CartKey key) {
+        List<CartItem> lines = key.isUser()
+                ? cartItemRepository.findUserCartWithMenuItems(key.getUserId())
+                : cartItemRepository.findSessionCartWithMenuItems(key.getSessionId());
+        // Keep detached copies so the request's persistence context never flushes them
+        List<CartItem> copies = new ArrayList<>(lines.size());
+        for (CartItem line : lines) {
+            CartItem copy = copyOf(line);
+            copy.setId(line.getMenuItem().getId());
+            copies.add(copy);
+        }
+        return new CartBuffer(copies);
+    }
+
+    // Write every dirty cart among the given keys as a full replacement, in one transaction
+    private void flush(List<CartKey> keys) {
+        flushLock.lock();
+        try {
+            List<CartBuffer> flushed = new ArrayList<>();
+            List<Object[]> sessionDeletes = new ArrayList<>();
+            List<Object[]> userDeletes = new ArrayList<>();
+            List<Object[]> inserts = new ArrayList<>();
+
+            for (CartKey key : keys) {
+                CartBuffer buffer = carts.get(key);
+                if (buffer == null) {
+                    continue;
+                }
+                synchronized (buffer) {
+                    if (!buffer.dirty) {
+                        continue;
+                    }
+                    buffer.dirty = false;
+                    flushed.add(buffer);
+                    if (key.isUser()) {
+                        userDeletes.add(new Object[] { key.getUserId() });
+                    } else {
+                        sessionDeletes.add(new Object[] { key.getSessionId() });
+                    }
+                    for (CartItem line : buffer.lines) {
+                        inserts.add(new Object[] {
+                                line.getSessionId(), line.getUserId(), line.getMenuItem().getId(),
+                                line.getQuantity(), line.getUnitPrice(), line.getTotalPrice(),
+                                Timestamp.valueOf(line.getCreatedAt()), Timestamp.valueOf(line.getUpdatedAt())
+                        });
+                    }
+                }
+            }
+            if (flushed.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!sessionDeletes.isEmpty()) {
+                        jdbcTemplate.batchUpdate(DELETE_SESSION_CART, sessionDeletes);
+                    }
+                    if (!userDeletes.isEmpty()) {
+                        jdbcTemplate.batchUpdate(DELETE_USER_CART, userDeletes);
+                    }
+                    if (!inserts.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_LINE, inserts);
+                    }
+                });
+                log.debug("Flushed {} carts ({} lines)", flushed.size(), inserts.size());
+            } catch (RuntimeException e) {
+                for (CartBuffer buffer : flushed) {
+                    synchronized (buffer) {
+                        buffer.dirty = true;
+                    }
+                }
+                log.error("Failed to flush {} carts, will retry on the next run", flushed.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evictIdleCarts() {
+        long cutoff = System.nanoTime() - idleEviction.toNanos();
+        Iterator<CartBuffer> buffers = carts.values().iterator();
+        while (buffers.hasNext()) {
+            CartBuffer buffer = buffers.next();
+            synchronized (buffer) {
+                if (!buffer.dirty && buffer.lastAccessNanos - cutoff < 0) {
+                    buffer.evicted = true;
+                    buffers.remove();
+                }
+            }
+        }
+    }
+
+    private void evict(CartKey key) {
+        CartBuffer buffer = carts.get(key);
+        if (buffer == null) {
+            return;
+        }
+        synchronized (buffer) {
+            if (!buffer.dirty) {
+                buffer.evicted = true;
+                carts.remove(key, buffer);
+            }
+        }
+    }
+
+    private static CartItem copyOf(CartItem line) {
+        CartItem copy = new CartItem();
+        copy.setId(line.getId());
+        copy.setSessionId(line.getSessionId());
+        copy.setUserId(line.getUserId());
+        copy.setMenuItem(line.getMenuItem());
+        copy.setQuantity(line.getQuantity());
+        copy.setUnitPrice(line.getUnitPrice());
+        copy.setTotalPrice(line.getTotalPrice());
+        copy.setCreatedAt(line.getCreatedAt());
+        copy.setUpdatedAt(line.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Databases created that way are baselined at this version and start from V2.
+
+CREATE TABLE menu_types (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    is_active   BOOLEAN,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE categories (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    description   TEXT,
+    menu_type_id  BIGINT NOT NULL,
+    display_order INTEGER,
+    is_active     BOOLEAN,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT fk_categories_menu_type FOREIGN KEY (menu_type_id) REFERENCES menu_types (id)
+);
+
+CREATE TABLE menu_items (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(150) NOT NULL,
+    description      TEXT,
+    price            NUMERIC(10, 2) NOT NULL,
+    image_url        VARCHAR(255),
+    category_id      BIGINT NOT NULL,
+    is_popular       BOOLEAN,
+    is_available     BOOLEAN,
+    preparation_time INTEGER CHECK (preparation_time >= 1 AND preparation_time <= 300),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT fk_menu_items_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE cart_items (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id   VARCHAR(255) NOT NULL,
+    user_id      BIGINT,
+    menu_item_id BIGINT NOT NULL,
+    quantity     INTEGER NOT NULL CHECK (quantity >= 1),
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT fk_cart_items_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+);
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    phone      VARCHAR(15) NOT NULL,
+    email      VARCHAR(100) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    enabled    BOOLEAN NOT NULL
+);
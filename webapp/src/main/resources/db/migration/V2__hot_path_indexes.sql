@@ -0,0 +1,82 @@
+-- One index per access path in the repositories. Partial indexes hold only the rows a
+-- finder can return (available items, active categories, session or user carts), so they
+-- stay small and already in the finder's sort order.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- cart_items -----------------------------------------------------------------------
+
+-- Replaced by the partial expiry indexes below when ddl-auto created them
+DROP INDEX IF EXISTS idx_cart_items_user_updated;
+DROP INDEX IF EXISTS idx_cart_items_session_updated;
+
+-- findBySessionIdAndMenuItemId; its session_id prefix serves every other session lookup and delete
+CREATE INDEX IF NOT EXISTS idx_cart_items_session_item
+    ON cart_items (session_id, menu_item_id);
+
+-- findByUserIdAndMenuItemId, findUserCartWithMenuItems, user totals and deletes
+CREATE INDEX IF NOT EXISTS idx_cart_items_user_item
+    ON cart_items (user_id, menu_item_id) WHERE user_id IS NOT NULL;
+
+-- Cart expiry: idle session lines oldest first, then recent activity in the same session
+CREATE INDEX IF NOT EXISTS idx_cart_items_session_expiry
+    ON cart_items (updated_at) WHERE user_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_cart_items_session_activity
+    ON cart_items (session_id, updated_at) WHERE user_id IS NULL;
+
+-- Foreign key checks when a menu item is deleted
+CREATE INDEX IF NOT EXISTS idx_cart_items_menu_item
+    ON cart_items (menu_item_id);
+
+-- menu_items -----------------------------------------------------------------------
+
+-- findByCategory[_Id]AndIsAvailableTrueOrderByNameAsc, findAvailableMenuItemsByMenuType,
+-- the admin category filter and per-category item counts
+CREATE INDEX IF NOT EXISTS idx_menu_items_category_available_name
+    ON menu_items (category_id, is_available, name);
+
+-- findCheapestItemsInCategory
+CREATE INDEX IF NOT EXISTS idx_menu_items_category_price
+    ON menu_items (category_id, price) WHERE is_available;
+
+-- findByIsPopularTrueAndIsAvailableTrueOrderByNameAsc
+CREATE INDEX IF NOT EXISTS idx_menu_items_popular_name
+    ON menu_items (name) WHERE is_popular AND is_available;
+
+-- findByIsAvailableTrueOrderByNameAsc and the admin listing sorted by name (keyset on name, id)
+CREATE INDEX IF NOT EXISTS idx_menu_items_name_id
+    ON menu_items (name, id);
+
+-- findByPriceBetweenAndIsAvailableTrueOrderByPriceAsc and the admin listing sorted by price
+CREATE INDEX IF NOT EXISTS idx_menu_items_price_id
+    ON menu_items (price, id);
+
+-- findByNameContainingIgnoreCaseAndIsAvailableTrueOrderByNameAsc: upper(name) LIKE upper('%term%').
+-- Without a pending list, bulk imports pay for index upkeep and searches never scan unmerged entries.
+CREATE INDEX IF NOT EXISTS idx_menu_items_name_trgm
+    ON menu_items USING gin (upper(name) gin_trgm_ops) WITH (fastupdate = off) WHERE is_available;
+
+-- categories -----------------------------------------------------------------------
+
+-- findByMenuType[_Id]AndIsActiveTrueOrderByDisplayOrderAsc, the snapshot's active-category join
+-- and per-menu-type category counts
+CREATE INDEX IF NOT EXISTS idx_categories_menu_type_active_order
+    ON categories (menu_type_id, is_active, display_order);
+
+-- findByIsActiveTrueOrderByDisplayOrderAsc
+CREATE INDEX IF NOT EXISTS idx_categories_active_order
+    ON categories (display_order) WHERE is_active;
+
+-- findByNameIgnoreCaseAndMenuType, existsByNameIgnoreCaseAndMenuType
+CREATE INDEX IF NOT EXISTS idx_categories_menu_type_upper_name
+    ON categories (menu_type_id, upper(name));
+
+-- Admin listing sorted by name (keyset on name, id)
+CREATE INDEX IF NOT EXISTS idx_categories_name_id
+    ON categories (name, id);
+
+-- menu_types -----------------------------------------------------------------------
+
+-- findByNameIgnoreCase, existsByNameIgnoreCase
+CREATE INDEX IF NOT EXISTS idx_menu_types_upper_name
+    ON menu_types (upper(name));
@@ -0,0 +1,46 @@
+-- One line per cart and menu item, so adding an item is a single INSERT ... ON CONFLICT that
+-- either creates the line or increments it (CartItemUpsertRepository). The unique indexes
+-- replace the plain V2 indexes on the same columns.
+
+-- Optimistic locking for quantity edits
+ALTER TABLE cart_items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Merge duplicates left by the former read-then-insert into the oldest line of each group
+UPDATE cart_items keep
+SET quantity = dup.quantity,
+    total_price = keep.unit_price * dup.quantity
+FROM (SELECT MIN(id) AS id, SUM(quantity) AS quantity
+      FROM cart_items WHERE user_id IS NULL
+      GROUP BY session_id, menu_item_id HAVING COUNT(*) > 1) dup
+WHERE keep.id = dup.id;
+
+DELETE FROM cart_items ci
+USING cart_items keep
+WHERE ci.user_id IS NULL AND keep.user_id IS NULL
+  AND keep.session_id = ci.session_id AND keep.menu_item_id = ci.menu_item_id
+  AND keep.id < ci.id;
+
+UPDATE cart_items keep
+SET quantity = dup.quantity,
+    total_price = keep.unit_price * dup.quantity
+FROM (SELECT MIN(id) AS id, SUM(quantity) AS quantity
+      FROM cart_items WHERE user_id IS NOT NULL
+      GROUP BY user_id, menu_item_id HAVING COUNT(*) > 1) dup
+WHERE keep.id = dup.id;
+
+DELETE FROM cart_items ci
+USING cart_items keep
+WHERE ci.user_id IS NOT NULL
+  AND keep.user_id = ci.user_id AND keep.menu_item_id = ci.menu_item_id
+  AND keep.id < ci.id;
+
+-- Session carts: the upsert's conflict target; its session_id prefix serves every session-cart
+-- lookup, total and delete, all of which now filter on user_id IS NULL
+DROP INDEX IF EXISTS idx_cart_items_session_item;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_cart_items_session_item
+    ON cart_items (session_id, menu_item_id) WHERE user_id IS NULL;
+
+-- User carts: the upsert's conflict target, findUserCartWithMenuItems, user totals and deletes
+DROP INDEX IF EXISTS idx_cart_items_user_item;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_cart_items_user_item
+    ON cart_items (user_id, menu_item_id) WHERE user_id IS NOT NULL;
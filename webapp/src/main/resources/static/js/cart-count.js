@@ -0,0 +1,43 @@
+// Keeps the cart badge (#cartCount) in sync with the server.
+// The count is pushed over Server-Sent Events from /cart/stream whenever the cart
+// changes, so pages no longer poll /cart/count.
+(function() {
+    function setCartCount(count) {
+        const cartCountElement = document.getElementById('cartCount');
+        if (!cartCountElement) {
+            return;
+        }
+        if (count > 0) {
+            cartCountElement.textContent = count;
+            cartCountElement.style.display = 'inline';
+        } else {
+            cartCountElement.style.display = 'none';
+        }
+    }
+
+    // One-off fetch, used where EventSource is not available
+    function updateCartCount() {
+        fetch('/cart/count')
+            .then(response => response.json())
+            .then(setCartCount)
+            .catch(error => console.error('Error fetching cart count:', error));
+    }
+
+    function subscribeCartCount() {
+        if (!window.EventSource) {
+            updateCartCount();
+            return;
+        }
+        const source = new EventSource('/cart/stream');
+        source.addEventListener('cart', function(event) {
+            setCartCount(JSON.parse(event.data).totalItems);
+        });
+        window.addEventListener('pagehide', function() {
+            source.close();
+        });
+    }
+
+    window.setCartCount = setCartCount;
+    window.updateCartCount = updateCartCount;
+    document.addEventListener('DOMContentLoaded', subscribeCartCount);
+})();
@@ -0,0 +1,58 @@
+package com.partymenu.webapp.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTests {
+
+	@Test
+	void readsQuotedFieldsAndDoubledQuotes() throws IOException {
+		CsvReader reader = reader("plain,\"with, comma\",\"say \"\"hi\"\"\",\"\"\n");
+		assertThat(reader.next()).containsExactly("plain", "with, comma", "say \"hi\"", "");
+		assertThat(reader.next()).isNull();
+	}
+
+	@Test
+	void keepsLineBreaksInsideQuotesAndCountsLines() throws IOException {
+		CsvReader reader = reader("name,notes\r\n\"Dal\",\"first\r\nsecond\"\r\nlast,1");
+		assertThat(reader.next()).containsExactly("name", "notes");
+		assertThat(reader.getLineNumber()).isEqualTo(2);
+		assertThat(reader.next()).containsExactly("Dal", "first\r\nsecond");
+		assertThat(reader.getLineNumber()).isEqualTo(4);
+		assertThat(reader.next()).containsExactly("last", "1");
+		assertThat(reader.next()).isNull();
+	}
+
+	@Test
+	void skipsBlankLines() throws IOException {
+		CsvReader reader = reader("a,b\n\n\r\nc,d\n");
+		assertThat(reader.next()).containsExactly("a", "b");
+		assertThat(reader.next()).containsExactly("c", "d");
+		assertThat(reader.next()).isNull();
+	}
+
+	@Test
+	void rejectsUnterminatedQuotes() throws IOException {
+		CsvReader reader = reader("a,b\n\"open,\nstill open");
+		reader.next();
+		assertThatThrownBy(reader::next).isInstanceOf(IOException.class)
+				.hasMessageContaining("Unterminated quoted field");
+	}
+
+	@Test
+	void escapesOnlyWhenNeeded() throws IOException {
+		assertThat(CsvReader.escape("Samosa")).isEqualTo("Samosa");
+		assertThat(CsvReader.escape(null)).isEmpty();
+		String escaped = CsvReader.escape("say \"hi\", then\nleave");
+		assertThat(reader(escaped).next()).containsExactly("say \"hi\", then\nleave");
+	}
+
+	private static CsvReader reader(String input) {
+		return new CsvReader(new StringReader(input));
+	}
+}
@@ -0,0 +1,46 @@
+package com.partymenu.webapp.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTests {
+
+	@Test
+	void roundTripsAnySortValue() {
+		for (String value : new String[] { "", "Samosa", "12.50", "Crème, \"brûlée\" & co/?=", "a\u0000b" }) {
+			KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(AdminSort.PRICE, value, 42L).encode());
+			assertThat(decoded.getSort()).isEqualTo(AdminSort.PRICE);
+			assertThat(decoded.getSortValue()).isEqualTo(value);
+			assertThat(decoded.getId()).isEqualTo(42L);
+		}
+		assertThat(KeysetCursor.decode(new KeysetCursor(AdminSort.NEWEST, null, Long.MAX_VALUE).encode()).getId()).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void encodesUrlSafely() {
+		assertThat(new KeysetCursor(AdminSort.NAME, "??>>~~ value with spaces", 7L).encode()).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void treatsAMissingTokenAsTheFirstPage() {
+		assertThat(KeysetCursor.decode(null)).isNull();
+		assertThat(KeysetCursor.decode("  ")).isNull();
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		for (String token : new String[] { "not base64!", token("no separator"), token("NAME\u0000Samosa"),
+				token("NAME\u0000Samosa\u0000not-a-number"), token("NAME\u0000Samosa\u0000"), token("RANDOM\u0000Samosa\u00007") }) {
+			assertThatThrownBy(() -> KeysetCursor.decode(token)).isInstanceOf(InvalidCursorException.class);
+		}
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
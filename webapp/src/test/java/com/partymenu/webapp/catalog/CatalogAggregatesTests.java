@@ -0,0 +1,71 @@
+package com.partymenu.webapp.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogAggregatesTests {
+
+	private CatalogAggregates aggregates;
+
+	@BeforeEach
+	void setUp() {
+		aggregates = new CatalogAggregates();
+		aggregates.putCategory(10L, 1L, true);
+		aggregates.putCategory(11L, 1L, false);
+		aggregates.putItem(100L, 10L, new BigDecimal("5.00"), true);
+		aggregates.putItem(101L, 10L, new BigDecimal("9.50"), true);
+		aggregates.putItem(102L, 11L, new BigDecimal("5.00"), true);
+		aggregates.putItem(103L, 11L, new BigDecimal("20.00"), false);
+	}
+
+	@Test
+	void countsAvailableItemsAndCategories() {
+		assertThat(aggregates.getAvailableItemCount(10L)).isEqualTo(2);
+		assertThat(aggregates.getAvailableItemCount(11L)).isEqualTo(1);
+		assertThat(aggregates.getCategoryCount(1L)).isEqualTo(2);
+		assertThat(aggregates.getActiveCategoryCount(1L)).isEqualTo(1);
+	}
+
+	@Test
+	void tracksPriceStatisticsOverAvailableItems() {
+		PriceStatistics stats = aggregates.getPriceStatistics();
+		assertThat(stats.getMin()).isEqualByComparingTo("5.00");
+		assertThat(stats.getMax()).isEqualByComparingTo("9.50");
+		assertThat(stats.getAverage()).isEqualByComparingTo("6.50");
+		assertThat(stats.getCount()).isEqualTo(3);
+	}
+
+	@Test
+	void keepsDuplicatePricesUntilTheLastOneLeaves() {
+		aggregates.removeItem(100L);
+		assertThat(aggregates.getPriceStatistics().getMin()).isEqualByComparingTo("5.00");
+		aggregates.removeItem(102L);
+		assertThat(aggregates.getPriceStatistics().getMin()).isEqualByComparingTo("9.50");
+	}
+
+	@Test
+	void replacesThePreviousStateOfAnItem() {
+		aggregates.putItem(101L, 11L, new BigDecimal("1.25"), true);
+		aggregates.putItem(103L, 11L, new BigDecimal("20.00"), true);
+		assertThat(aggregates.getAvailableItemCount(10L)).isEqualTo(1);
+		assertThat(aggregates.getAvailableItemCount(11L)).isEqualTo(3);
+		assertThat(aggregates.getPriceStatistics().getMin()).isEqualByComparingTo("1.25");
+		assertThat(aggregates.getPriceStatistics().getMax()).isEqualByComparingTo("20.00");
+	}
+
+	@Test
+	void removingACategoryDropsItsItems() {
+		aggregates.removeCategory(10L);
+		assertThat(aggregates.getCategoryCount(1L)).isEqualTo(1);
+		assertThat(aggregates.getActiveCategoryCount(1L)).isZero();
+		assertThat(aggregates.getAvailableItemCount(10L)).isZero();
+		assertThat(aggregates.getPriceStatistics().getCount()).isEqualTo(1);
+
+		aggregates.removeCategory(11L);
+		assertThat(aggregates.getPriceStatistics()).isSameAs(PriceStatistics.EMPTY);
+	}
+}
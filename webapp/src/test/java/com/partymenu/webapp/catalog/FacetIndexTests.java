@@ -0,0 +1,98 @@
+package com.partymenu.webapp.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FacetIndexTests {
+
+	private FacetIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = FacetIndex.build(CatalogSnapshot.build(1, List.of(
+				row(1L, "Veg", 10L, "Starters", 100L, "Samosa", "4.50", true, true, 10),
+				row(1L, "Veg", 10L, "Starters", 101L, "Paneer Tikka", "9.00", false, true, 25),
+				row(1L, "Veg", 11L, "Mains", 102L, "Dal Makhani", "12.00", true, true, 40),
+				row(2L, "Non-Veg", 20L, "Grill", 200L, "Chicken Tikka", "11.00", false, true, 30),
+				row(2L, "Non-Veg", 20L, "Grill", 201L, "Lamb Chops", "18.00", true, true, 60),
+				row(2L, "Non-Veg", 20L, "Grill", 202L, "Fish Tikka", "14.00", false, false, 20))));
+	}
+
+	@Test
+	void filtersByPriceRangeInclusively() {
+		FacetResult result = index.query(query(Set.of(), Set.of(), Set.of(), null, "9.00", "12.00", FacetQuery.Sort.PRICE_ASC));
+		assertThat(ids(result)).containsExactly(101L, 200L, 102L);
+	}
+
+	@Test
+	void clampsPriceBoundsBeyondAnyPrice() {
+		FacetResult result = index.query(query(Set.of(), Set.of(), Set.of(), null, "-1e30", "1e30", FacetQuery.Sort.PRICE_ASC));
+		assertThat(result.getTotal()).isEqualTo(5);
+
+		result = index.query(query(Set.of(), Set.of(), Set.of(), null, "1e30", null, FacetQuery.Sort.PRICE_ASC));
+		assertThat(result.getTotal()).isZero();
+
+		result = index.query(query(Set.of(), Set.of(), Set.of(), null, "1e-1000000000", "9.00", FacetQuery.Sort.PRICE_ASC));
+		assertThat(ids(result)).containsExactly(100L, 101L);
+	}
+
+	@Test
+	void combinesDimensionsAndSorts() {
+		FacetResult result = index.query(query(Set.of(), Set.of(10L, 20L), Set.of(), true, null, null, FacetQuery.Sort.PRICE_DESC));
+		assertThat(ids(result)).containsExactly(201L, 100L);
+		assertThat(result.getTotal()).isEqualTo(2);
+
+		result = index.query(query(Set.of(1L), Set.of(), Set.of(PrepTimeBucket.STANDARD, PrepTimeBucket.SLOW), null,
+				null, null, FacetQuery.Sort.NAME));
+		assertThat(ids(result)).containsExactly(102L, 101L);
+	}
+
+	@Test
+	void countsEachDimensionWithoutItsOwnFilter() {
+		FacetResult result = index.query(query(Set.of(1L), Set.of(), Set.of(), true, null, null, FacetQuery.Sort.PRICE_ASC));
+		assertThat(count(result, FacetIndex.MENU_TYPE, "1")).isEqualTo(2);
+		assertThat(count(result, FacetIndex.MENU_TYPE, "2")).isEqualTo(1);
+		assertThat(count(result, FacetIndex.POPULAR, "true")).isEqualTo(2);
+		assertThat(count(result, FacetIndex.POPULAR, "false")).isEqualTo(1);
+		assertThat(count(result, FacetIndex.CATEGORY, "10")).isEqualTo(1);
+		assertThat(result.getMinPrice()).isEqualByComparingTo("4.50");
+		assertThat(result.getMaxPrice()).isEqualByComparingTo("12.00");
+	}
+
+	@Test
+	void leavesOutUnavailableItemsAndPages() {
+		FacetResult result = index.query(new FacetQuery(null, null, null, null, null, null,
+				FacetQuery.Sort.PRICE_ASC, 2, 2));
+		assertThat(result.getTotal()).isEqualTo(5);
+		assertThat(ids(result)).containsExactly(200L, 102L);
+	}
+
+	private static FacetQuery query(Set<Long> menuTypeIds, Set<Long> categoryIds, Set<PrepTimeBucket> prepTimes,
+	                                Boolean popular, String minPrice, String maxPrice, FacetQuery.Sort sort) {
+		return new FacetQuery(menuTypeIds, categoryIds, prepTimes, popular,
+				minPrice != null ? new BigDecimal(minPrice) : null, maxPrice != null ? new BigDecimal(maxPrice) : null,
+				sort, 0, 10);
+	}
+
+	private static List<Long> ids(FacetResult result) {
+		return result.getItems().stream().map(FacetResult.Item::getId).toList();
+	}
+
+	private static int count(FacetResult result, String dimension, String value) {
+		return result.getFacets().get(dimension).stream()
+				.filter(facet -> facet.getValue().equals(value))
+				.findFirst().orElseThrow().getCount();
+	}
+
+	private static CatalogRow row(Long menuTypeId, String menuType, Long categoryId, String category, Long itemId,
+	                              String name, String price, boolean popular, boolean available, int prepTime) {
+		return new CatalogRow(menuTypeId, menuType, null, categoryId, category, null, 1,
+				itemId, name, null, new BigDecimal(price), null, popular, available, prepTime);
+	}
+}
@@ -0,0 +1,56 @@
+package com.partymenu.webapp.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTests {
+
+	private InvertedIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new InvertedIndex();
+		index.put(1L, "Chicken Biryani", "Fragrant basmati rice with chicken");
+		index.put(2L, "Paneer Tikka", "Grilled cottage cheese with spices");
+		index.put(3L, "Chicken Tikka", "Smoky grilled chicken");
+		index.put(4L, "Crème Brûlée", "Classic custard dessert");
+	}
+
+	@Test
+	void matchesPrefixesCaseInsensitively() {
+		assertThat(index.search("TIK", 10)).containsExactlyInAnyOrder(2L, 3L);
+	}
+
+	@Test
+	void requiresEveryTermAndRanksNameHitsFirst() {
+		assertThat(index.search("chicken tikka", 10)).containsExactly(3L);
+		assertThat(index.search("chicken", 10)).containsExactly(1L, 3L);
+		assertThat(index.search("rice", 10)).containsExactly(1L);
+	}
+
+	@Test
+	void foldsAccents() {
+		assertThat(index.search("creme brulee", 10)).containsExactly(4L);
+	}
+
+	@Test
+	void reindexesAndRemovesDocuments() {
+		index.put(2L, "Paneer Butter Masala", "Creamy tomato gravy");
+		assertThat(index.search("tikka", 10)).containsExactly(3L);
+		assertThat(index.search("masala", 10)).containsExactly(2L);
+
+		index.remove(3L);
+		assertThat(index.search("tikka", 10)).isEmpty();
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void appliesLimit() {
+		List<Long> ids = index.search("c", 2);
+		assertThat(ids).hasSize(2);
+	}
+}
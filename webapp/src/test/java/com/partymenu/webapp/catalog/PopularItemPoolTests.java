@@ -0,0 +1,64 @@
+package com.partymenu.webapp.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PopularItemPoolTests {
+
+	@Test
+	void samplesDistinctItemsUpToTheLimit() {
+		PopularItemPool pool = PopularItemPool.of(snapshot(1, 20), null);
+		assertThat(pool.size()).isEqualTo(20);
+
+		Set<Long> seen = new HashSet<>();
+		for (int run = 0; run < 200; run++) {
+			List<Long> ids = ids(pool.sample(6));
+			assertThat(ids).hasSize(6).doesNotHaveDuplicates().allMatch(id -> id >= 1 && id <= 20);
+			seen.addAll(ids);
+		}
+		// Every popular item turns up over many samples
+		assertThat(seen).hasSize(20);
+	}
+
+	@Test
+	void returnsASmallerPoolWhole() {
+		PopularItemPool pool = PopularItemPool.of(snapshot(1, 4), null);
+		assertThat(ids(pool.sample(6))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+		assertThat(ids(pool.sample(4))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+		assertThat(pool.sample(0)).isEmpty();
+		assertThat(PopularItemPool.of(snapshot(1, 0), null).sample(6)).isEmpty();
+	}
+
+	@Test
+	void followsMembershipChangesAcrossSnapshots() {
+		PopularItemPool first = PopularItemPool.of(snapshot(1, 5), null);
+		assertThat(ids(first.sample(5))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+
+		PopularItemPool same = PopularItemPool.of(snapshot(2, 5), first);
+		assertThat(ids(same.sample(5))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+
+		PopularItemPool smaller = PopularItemPool.of(snapshot(3, 3), same);
+		assertThat(ids(smaller.sample(5))).containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	// Items 1..popularCount are popular, followed by as many regular ones
+	private static CatalogSnapshot snapshot(long version, int popularCount) {
+		List<CatalogRow> rows = new ArrayList<>();
+		for (long id = 1; id <= popularCount * 2L; id++) {
+			rows.add(new CatalogRow(1L, "Menu", null, 10L, "Starters", null, 1,
+					id, "Item " + id, null, new BigDecimal("5.00"), null, id <= popularCount, true, 10));
+		}
+		return CatalogSnapshot.build(version, rows);
+	}
+
+	private static List<Long> ids(List<ItemCard> items) {
+		return items.stream().map(ItemCard::getId).toList();
+	}
+}
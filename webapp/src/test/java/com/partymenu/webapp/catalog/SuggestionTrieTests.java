@@ -0,0 +1,121 @@
+package com.partymenu.webapp.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionTrieTests {
+
+	private SuggestionTrie trie;
+
+	@BeforeEach
+	void setUp() {
+		trie = new SuggestionTrie();
+	}
+
+	@Test
+	void splitsEdgesOnSharedPrefixes() {
+		trie.put(item(1L, "Tikka", 1));
+		trie.put(item(2L, "Tikki", 1));
+		trie.put(item(3L, "Tandoori", 1));
+		trie.put(item(4L, "Tik", 1));
+
+		assertThat(ids(trie.lookup("t", 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+		assertThat(ids(trie.lookup("ti", 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+		assertThat(ids(trie.lookup("tik", 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+		assertThat(ids(trie.lookup("tikka", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("ta", 10))).containsExactly(3L);
+		assertThat(trie.lookup("tikkas", 10)).isEmpty();
+		assertThat(trie.lookup("x", 10)).isEmpty();
+	}
+
+	@Test
+	void findsWordsInsideNames() {
+		trie.put(item(1L, "Chicken Tikka Masala", 1));
+		assertThat(ids(trie.lookup("tik", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("masala", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("chicken tik", 10))).containsExactly(1L);
+		assertThat(trie.lookup("chicken masala", 10)).isEmpty();
+	}
+
+	@Test
+	void removesAndMergesBackIntoSingleEdges() {
+		trie.put(item(1L, "Tikka", 1));
+		trie.put(item(2L, "Tikki", 1));
+		trie.put(item(3L, "Tik", 1));
+
+		trie.remove(Suggestion.Type.ITEM, 3L);
+		assertThat(ids(trie.lookup("tik", 10))).containsExactlyInAnyOrder(1L, 2L);
+
+		trie.remove(Suggestion.Type.ITEM, 2L);
+		assertThat(ids(trie.lookup("tik", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("tikk", 10))).containsExactly(1L);
+		assertThat(trie.lookup("tikki", 10)).isEmpty();
+
+		trie.put(item(2L, "Tikki", 1));
+		trie.put(item(5L, "Ti", 1));
+		assertThat(ids(trie.lookup("tikk", 10))).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(ids(trie.lookup("ti", 10))).containsExactlyInAnyOrder(1L, 2L, 5L);
+
+		trie.remove(Suggestion.Type.ITEM, 1L);
+		trie.remove(Suggestion.Type.ITEM, 2L);
+		trie.remove(Suggestion.Type.ITEM, 5L);
+		assertThat(trie.lookup("t", 10)).isEmpty();
+		assertThat(trie.size()).isZero();
+	}
+
+	@Test
+	void replacesASuggestionWithTheSameId() {
+		trie.put(item(1L, "Paneer Tikka", 1));
+		trie.put(item(1L, "Paneer Butter Masala", 1));
+		assertThat(trie.lookup("tikka", 10)).isEmpty();
+		assertThat(ids(trie.lookup("butter", 10))).containsExactly(1L);
+		assertThat(trie.size()).isEqualTo(1);
+	}
+
+	@Test
+	void ranksByWeightThenNameThenId() {
+		trie.put(item(1L, "Dal Bravo", 5));
+		trie.put(item(2L, "dal alpha", 5));
+		trie.put(item(3L, "Dal Charlie", 9));
+		trie.put(item(7L, "Dal Delta", 5));
+		trie.put(item(6L, "Dal Delta", 5));
+		trie.put(new Suggestion(Suggestion.Type.CATEGORY, 6L, "Dal Echo", 5));
+
+		List<Suggestion> ranked = trie.lookup("dal", 10);
+		assertThat(ids(ranked)).containsExactly(3L, 2L, 1L, 6L, 7L, 6L);
+		assertThat(ranked.get(5).getType()).isEqualTo(Suggestion.Type.CATEGORY);
+	}
+
+	@Test
+	void keepsTheBestTopKPerPrefix() {
+		for (long id = 1; id <= 15; id++) {
+			trie.put(item(id, "Dish " + id, (int) id));
+		}
+		assertThat(ids(trie.lookup("dish", 20))).hasSize(SuggestionTrie.TOP_K)
+				.containsExactly(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L);
+		assertThat(ids(trie.lookup("dish", 3))).containsExactly(15L, 14L, 13L);
+
+		trie.remove(Suggestion.Type.ITEM, 15L);
+		assertThat(ids(trie.lookup("d", 10))).containsExactly(14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L);
+	}
+
+	@Test
+	void foldsCaseAndDiacritics() {
+		trie.put(item(1L, "Crème Brûlée", 1));
+		assertThat(ids(trie.lookup("CREME", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("brul", 10))).containsExactly(1L);
+		assertThat(ids(trie.lookup("Crè", 10))).containsExactly(1L);
+	}
+
+	private static Suggestion item(Long id, String name, int weight) {
+		return new Suggestion(Suggestion.Type.ITEM, id, name, weight);
+	}
+
+	private static List<Long> ids(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::getId).toList();
+	}
+}
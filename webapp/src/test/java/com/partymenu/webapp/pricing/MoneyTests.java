@@ -0,0 +1,31 @@
+package com.partymenu.webapp.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTests {
+
+	@Test
+	void formatsLikeStringFormat() {
+		for (String amount : new String[] { "0", "0.05", "0.5", "12.5", "999.99", "1000", "123456.78", "-3" }) {
+			BigDecimal value = new BigDecimal(amount);
+			assertThat(Money.of(value).format()).isEqualTo("$%.2f".formatted(value));
+		}
+	}
+
+	@Test
+	void reusesCachedLabels() {
+		assertThat(Money.format(1250)).isSameAs(Money.format(1250));
+	}
+
+	@Test
+	void convertsBetweenCentsAndDecimals() {
+		assertThat(Money.toCents(new BigDecimal("19.99"))).isEqualTo(1999);
+		assertThat(Money.toCents(new BigDecimal("0.005"))).isEqualTo(1);
+		assertThat(Money.ofCents(1999).times(3).toBigDecimal()).isEqualTo(new BigDecimal("59.97"));
+		assertThat(Money.ofCents(150).plus(Money.ofCents(250))).isEqualTo(Money.ofCents(400));
+	}
+}
@@ -0,0 +1,159 @@
+package com.partymenu.webapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.partymenu.webapp.admin.AdminSort;
+import com.partymenu.webapp.admin.CategoryRow;
+import com.partymenu.webapp.admin.InvalidCursorException;
+import com.partymenu.webapp.admin.KeysetCursor;
+import com.partymenu.webapp.admin.KeysetPage;
+import com.partymenu.webapp.admin.MenuItemRow;
+import com.partymenu.webapp.entity.Category;
+import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.entity.MenuType;
+
+// The Flyway migrations are PostgreSQL-only; Hibernate creates the schema on the embedded H2
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false" })
+@Import(AdminListingRepository.class)
+class AdminListingRepositoryTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private AdminListingRepository repository;
+
+	private Category starters;
+	private Category mains;
+	private final List<MenuItem> items = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		MenuType menuType = entityManager.persist(new MenuType("Veg", null));
+		starters = entityManager.persist(new Category("Starters", null, menuType));
+		mains = entityManager.persist(new Category("Mains", null, menuType));
+		// Repeated names and prices, so every sort has ties that only the id breaks
+		item("Samosa", "4.50", starters, true);
+		item("Samosa", "4.50", starters, false);
+		item("Pakora", "4.50", starters, true);
+		item("Samosa", "6.00", mains, true);
+		item("Dal Makhani", "12.00", mains, true);
+		item("Pakora", "3.25", mains, false);
+		item("Aloo Tikki", "6.00", starters, true);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void pagesThroughTiedSortValuesWithoutSkippingOrRepeatingRows() {
+		Comparator<MenuItem> byId = Comparator.comparing(MenuItem::getId);
+		for (int size = 1; size <= items.size() + 1; size++) {
+			assertThat(allPages(AdminSort.NAME, size)).as("name, page size %d", size)
+					.containsExactlyElementsOf(expected(Comparator.comparing(MenuItem::getName).thenComparing(byId)));
+			assertThat(allPages(AdminSort.PRICE, size)).as("price, page size %d", size)
+					.containsExactlyElementsOf(expected(Comparator.comparing(MenuItem::getPrice).thenComparing(byId)));
+			assertThat(allPages(AdminSort.NEWEST, size)).as("newest, page size %d", size)
+					.containsExactlyElementsOf(expected(byId.reversed()));
+		}
+	}
+
+	@Test
+	void appliesFiltersOnEveryPage() {
+		List<Long> ids = new ArrayList<>();
+		KeysetCursor after = null;
+		do {
+			KeysetPage<MenuItemRow> page = repository.findMenuItems(starters.getId(), true, null, AdminSort.NAME, after, 1);
+			page.getItems().forEach(row -> ids.add(row.getId()));
+			after = KeysetCursor.decode(page.getNextCursor());
+		} while (after != null);
+
+		assertThat(ids).containsExactlyElementsOf(items.stream()
+				.filter(item -> item.getCategory() == starters && item.getIsAvailable())
+				.sorted(Comparator.comparing(MenuItem::getName).thenComparing(MenuItem::getId))
+				.map(MenuItem::getId).toList());
+	}
+
+	@Test
+	void endsWithoutACursorWhenTheLastPageIsFull() {
+		KeysetPage<MenuItemRow> page = repository.findMenuItems(null, null, null, AdminSort.PRICE, null, items.size());
+
+		assertThat(page.getItems()).hasSize(items.size());
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	void returnsAnEmptyPageAfterTheLastRow() {
+		MenuItemRow last = repository.findMenuItems(null, null, null, AdminSort.NAME, null, items.size()).getItems()
+				.get(items.size() - 1);
+
+		KeysetPage<MenuItemRow> page = repository.findMenuItems(null, null, null, AdminSort.NAME,
+				new KeysetCursor(AdminSort.NAME, last.getName(), last.getId()), 10);
+
+		assertThat(page.isEmpty()).isTrue();
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	void rejectsACursorFromAnotherSort() {
+		String priceCursor = repository.findMenuItems(null, null, null, AdminSort.PRICE, null, 2).getNextCursor();
+
+		assertThatThrownBy(() -> repository.findMenuItems(null, null, null, AdminSort.NAME,
+				KeysetCursor.decode(priceCursor), 2)).isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> repository.findMenuItems(null, null, null, AdminSort.PRICE,
+				new KeysetCursor(AdminSort.PRICE, "Samosa", 1L), 2)).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void pagesCategoriesByNameWhenAskedForPrice() {
+		KeysetPage<CategoryRow> first = repository.findCategories(null, null, AdminSort.PRICE, null, 1);
+		KeysetPage<CategoryRow> second = repository.findCategories(null, null, AdminSort.PRICE,
+				KeysetCursor.decode(first.getNextCursor()), 1);
+
+		assertThat(first.getItems()).extracting(CategoryRow::getName).containsExactly("Mains");
+		assertThat(first.getItems().get(0).getItemCount()).isEqualTo(3L);
+		assertThat(second.getItems()).extracting(CategoryRow::getName).containsExactly("Starters");
+		assertThat(second.hasNext()).isFalse();
+	}
+
+	private List<Long> allPages(AdminSort sort, int size) {
+		List<Long> ids = new ArrayList<>();
+		KeysetCursor after = null;
+		for (int pages = 0; pages <= items.size() + 1; pages++) {
+			KeysetPage<MenuItemRow> page = repository.findMenuItems(null, null, null, sort, after, size);
+			page.getItems().forEach(row -> ids.add(row.getId()));
+			if (!page.hasNext()) {
+				return ids;
+			}
+			after = KeysetCursor.decode(page.getNextCursor());
+		}
+		throw new AssertionError("Paging by " + sort + " did not end after " + ids.size() + " rows");
+	}
+
+	private List<Long> expected(Comparator<MenuItem> order) {
+		return items.stream().sorted(order).map(MenuItem::getId).toList();
+	}
+
+	private void item(String name, String price, Category category, boolean available) {
+		MenuItem item = new MenuItem(name, null, new BigDecimal(price), category);
+		item.setIsAvailable(available);
+		items.add(entityManager.persist(item));
+	}
+}
@@ -0,0 +1,46 @@
+package com.partymenu.webapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CartBadgeServiceTests {
+
+	private CartService cartService;
+	private CartBadgeService badges;
+
+	@BeforeEach
+	void setUp() {
+		cartService = mock(CartService.class);
+		badges = new CartBadgeService(cartService, 100, 60_000);
+		when(cartService.getTotalItems("session-1")).thenReturn(3, 0);
+		when(cartService.getTotalItems(7L)).thenReturn(2, 5);
+	}
+
+	@Test
+	void cachesCountsUntilTheCartChanges() {
+		assertThat(badges.getTotalItems(CartKey.user(7L))).isEqualTo(2);
+		assertThat(badges.getTotalItems(CartKey.user(7L))).isEqualTo(2);
+
+		badges.onCartChanged(new CartChangedEvent(CartKey.user(7L)));
+
+		assertThat(badges.getTotalItems(CartKey.user(7L))).isEqualTo(5);
+		verify(cartService, times(2)).getTotalItems(7L);
+	}
+
+	@Test
+	void dropsSessionCartCountsWhenCartsExpire() {
+		assertThat(badges.getTotalItems(CartKey.session("session-1"))).isEqualTo(3);
+		assertThat(badges.getTotalItems(CartKey.user(7L))).isEqualTo(2);
+
+		badges.onSessionCartsExpired(new SessionCartsExpiredEvent(3));
+
+		assertThat(badges.getTotalItems(CartKey.session("session-1"))).isZero();
+		assertThat(badges.getTotalItems(CartKey.user(7L))).isEqualTo(2);
+	}
+}
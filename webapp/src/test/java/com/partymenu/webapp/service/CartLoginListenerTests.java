@@ -0,0 +1,64 @@
+package com.partymenu.webapp.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.partymenu.webapp.entity.User;
+
+class CartLoginListenerTests {
+
+	private CartService cartService;
+	private CartLoginListener listener;
+
+	@BeforeEach
+	void setUp() {
+		cartService = mock(CartService.class);
+		listener = new CartLoginListener(cartService);
+	}
+
+	@Test
+	void mergesTheSessionCartOfTheLoginRequest() {
+		listener.onAuthenticationSuccess(success("session-1"));
+
+		verify(cartService).migrateSessionCartToUser("session-1", 7L);
+	}
+
+	@Test
+	void skipsLoginsWithoutASession() {
+		listener.onAuthenticationSuccess(success(null));
+
+		verify(cartService, never()).migrateSessionCartToUser(any(), any());
+	}
+
+	@Test
+	void keepsTheLoginWhenTheMergeFails() {
+		doThrow(new IllegalStateException("database unavailable")).when(cartService).migrateSessionCartToUser("session-1", 7L);
+
+		listener.onAuthenticationSuccess(success("session-1"));
+
+		verify(cartService).migrateSessionCartToUser("session-1", 7L);
+	}
+
+	private static AuthenticationSuccessEvent success(String sessionId) {
+		User user = new User("Asha", "5550100", "asha@example.com", "secret");
+		user.setId(7L);
+		user.setEnabled(true);
+		AuthenticatedUser principal = new AuthenticatedUser(user, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		UsernamePasswordAuthenticationToken authentication =
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+		authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", sessionId));
+		return new AuthenticationSuccessEvent(authentication);
+	}
+}
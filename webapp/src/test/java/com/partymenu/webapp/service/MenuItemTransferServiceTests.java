@@ -0,0 +1,122 @@
+package com.partymenu.webapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.partymenu.webapp.admin.ImportResult;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class MenuItemTransferServiceTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private MenuItemTransferService service;
+	private final List<Object[]> inserted = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+		ResultSet category = mock(ResultSet.class);
+		when(category.getLong(1)).thenReturn(10L);
+		when(category.getString(2)).thenReturn("Starters");
+		when(category.getString(3)).thenReturn("Veg");
+		doAnswer(invocation -> {
+			invocation.<RowCallbackHandler>getArgument(1).processRow(category);
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+		doAnswer(invocation -> {
+			inserted.addAll(invocation.<List<Object[]>>getArgument(1));
+			return new int[0];
+		}).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+		service = new MenuItemTransferService(jdbcTemplate, new ObjectMapper(),
+				mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS), mock(ApplicationEventPublisher.class), 2);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void importsValidRowsAndReportsRejectedLines() throws IOException {
+		ImportResult result = importCsv("""
+				name,price,category,description
+				Samosa,4.50,Starters,Crisp
+				Huge,123456789012.50,Starters,
+				Free,0,Starters,
+				Negative,-1,Starters,
+				Wordy,5,Starters,%s
+				Ghost,5,Nowhere,
+				Tiny,0.001,Starters,
+				Pakora,99999999.99,starters,
+				""".formatted("x".repeat(1001)));
+
+		assertThat(result.getImported()).isEqualTo(3);
+		assertThat(result.getSkipped()).isEqualTo(5);
+		assertThat(result.getErrors()).containsExactly(
+				"Line 3: price is larger than 99999999.99",
+				"Line 5: price must be zero or more with at most two decimals",
+				"Line 6: description is longer than 1000 characters",
+				"Line 7: unknown category 'Nowhere'",
+				"Line 8: price must be zero or more with at most two decimals");
+		assertThat(inserted).extracting(row -> row[0]).containsExactly("Samosa", "Free", "Pakora");
+		assertThat(inserted).extracting(row -> row[2]).containsExactly(
+				new BigDecimal("4.50"), new BigDecimal("0"), new BigDecimal("99999999.99"));
+		assertThat(inserted).extracting(row -> row[4]).containsOnly(10L);
+	}
+
+	@Test
+	void rejectsMissingValuesAndBadFlags() throws IOException {
+		ImportResult result = importCsv("""
+				name,price,category,is_popular,preparation_time
+				,4.50,Starters,,
+				Samosa,,Starters,,
+				Samosa,4.50,,,
+				Samosa,4.50,Starters,maybe,
+				Samosa,4.50,Starters,yes,soon
+				""");
+
+		assertThat(result.getImported()).isZero();
+		assertThat(result.getErrors()).containsExactly(
+				"Line 2: name is required",
+				"Line 3: price is missing or not a number",
+				"Line 4: category is required",
+				"Line 5: 'maybe' is not a yes/no value",
+				"Line 6: preparation_time is not a whole number");
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+	}
+
+	private ImportResult importCsv(String csv) throws IOException {
+		return service.importMenuItems(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false);
+	}
+}
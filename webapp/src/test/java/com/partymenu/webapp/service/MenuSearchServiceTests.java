@@ -0,0 +1,122 @@
+package com.partymenu.webapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.partymenu.webapp.catalog.CatalogChangedEvent;
+import com.partymenu.webapp.entity.MenuItem;
+import com.partymenu.webapp.repository.MenuItemRepository;
+
+import jakarta.persistence.EntityManager;
+
+class MenuSearchServiceTests {
+
+	private MenuItemRepository menuItemRepository;
+	private MenuSearchService service;
+
+	@BeforeEach
+	void setUp() {
+		menuItemRepository = mock(MenuItemRepository.class);
+		service = new MenuSearchService(menuItemRepository, mock(EntityManager.class));
+	}
+
+	@Test
+	void replaysChangesThatArriveWhileRebuilding() {
+		// The rebuild reads the old name; the rename commits and is handled before the swap
+		when(menuItemRepository.findByIsAvailableTrueOrderByNameAsc()).thenAnswer(invocation -> {
+			service.onCatalogChanged(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, 1L));
+			service.onCatalogChanged(CatalogChangedEvent.deleted(CatalogChangedEvent.Kind.MENU_ITEM, 2L));
+			return List.of(item(1L, "Samosa", true), item(2L, "Pakora", true));
+		});
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(item(1L, "Paneer Samosa", true)));
+		when(menuItemRepository.findById(2L)).thenReturn(Optional.empty());
+
+		service.rebuild();
+
+		assertThat(service.search("paneer", 10)).containsExactly(1L);
+		assertThat(service.search("pakora", 10)).isEmpty();
+	}
+
+	@Test
+	void recordsChangesHandledOnAnotherThreadDuringTheLoad() {
+		// The withdrawal commits after the load read the item and is handled before the load returns
+		when(menuItemRepository.findByIsAvailableTrueOrderByNameAsc()).thenAnswer(invocation -> {
+			List<MenuItem> loaded = List.of(item(1L, "Samosa", true));
+			runOnAnotherThread(() -> service.onCatalogChanged(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, 1L)));
+			return loaded;
+		});
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(item(1L, "Samosa", false)));
+
+		service.rebuild();
+
+		assertThat(service.search("samosa", 10)).isEmpty();
+	}
+
+	@Test
+	void appliesChangesHandledAfterTheSwapToTheNewIndex() {
+		// A change handled while the recorded items replay must not land in the discarded index
+		when(menuItemRepository.findByIsAvailableTrueOrderByNameAsc()).thenAnswer(invocation -> {
+			service.onCatalogChanged(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, 1L));
+			return List.of(item(1L, "Samosa", true), item(2L, "Pakora", true));
+		});
+		when(menuItemRepository.findById(2L)).thenReturn(Optional.empty());
+		when(menuItemRepository.findById(1L)).thenAnswer(new Answer<Optional<MenuItem>>() {
+			private int calls;
+
+			@Override
+			public Optional<MenuItem> answer(InvocationOnMock invocation) {
+				if (++calls == 2) {
+					runOnAnotherThread(() -> service.onCatalogChanged(CatalogChangedEvent.deleted(CatalogChangedEvent.Kind.MENU_ITEM, 2L)));
+				}
+				return Optional.of(item(1L, "Samosa", true));
+			}
+		});
+
+		service.rebuild();
+
+		assertThat(service.search("samosa", 10)).containsExactly(1L);
+		assertThat(service.search("pakora", 10)).isEmpty();
+	}
+
+	@Test
+	void appliesChangesOutsideRebuildsToTheCurrentIndex() {
+		when(menuItemRepository.findByIsAvailableTrueOrderByNameAsc()).thenReturn(List.of(item(1L, "Samosa", true)));
+		service.rebuild();
+
+		when(menuItemRepository.findById(1L)).thenReturn(Optional.of(item(1L, "Samosa", false)));
+		when(menuItemRepository.findById(3L)).thenReturn(Optional.of(item(3L, "Dal Makhani", true)));
+		service.onCatalogChanged(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, 1L));
+		service.onCatalogChanged(CatalogChangedEvent.saved(CatalogChangedEvent.Kind.MENU_ITEM, 3L));
+
+		assertThat(service.search("samosa", 10)).isEmpty();
+		assertThat(service.search("dal", 10)).containsExactly(3L);
+	}
+
+	private static void runOnAnotherThread(Runnable task) {
+		Thread thread = new Thread(task);
+		thread.start();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MenuItem item(Long id, String name, boolean available) {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setId(id);
+		menuItem.setName(name);
+		menuItem.setIsAvailable(available);
+		return menuItem;
+	}
+}